@@ -0,0 +1,76 @@
+package com.civicseva.backend.controller;
+
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.service.IssueFixtures;
+import com.civicseva.backend.service.IssueService;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The controller's {@code Map}-wrapped write responses
+ * ({@code {"success": true, "issue": ...}}), built by the real
+ * {@link IssueController#updateIssue} over a stubbed service, against
+ * serializing the bare {@link IssueDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IssueResponseBenchmark {
+
+    private IssueController controller;
+    private CreateIssueDto update;
+    private IssueDto issue;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        issue = IssueFixtures.dto(42);
+        update = new CreateIssueDto();
+        update.setTitle(issue.getTitle());
+
+        controller = new IssueController();
+        ReflectionTestUtils.setField(controller, "issueService", new IssueService() {
+            @Override
+            public Optional<IssueDto> updateIssue(String issueId, CreateIssueDto updateDto, String ifMatch) {
+                return Optional.of(issue);
+            }
+        });
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> buildResponse() {
+        return controller.updateIssue(issue.getId(), update, null);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeResponse() throws IOException {
+        return writer.writeValueAsBytes(controller.updateIssue(issue.getId(), update, null).getBody());
+    }
+
+    @Benchmark
+    public byte[] serializeDto() throws IOException {
+        return writer.writeValueAsBytes(issue);
+    }
+}
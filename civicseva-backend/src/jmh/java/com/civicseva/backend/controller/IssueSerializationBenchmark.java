@@ -0,0 +1,53 @@
+package com.civicseva.backend.controller;
+
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.service.IssueFixtures;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link IssueDto} lists with the same mapper
+ * configuration Spring MVC uses, for list, search and nearby responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IssueSerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private List<IssueDto> issues;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        issues = IssueFixtures.dtos(size);
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        // Streams like the HTTP message converter, without retaining the output
+        writer.writeValue(OutputStream.nullOutputStream(), issues);
+    }
+}
@@ -0,0 +1,64 @@
+package com.civicseva.backend.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code fromDisplayName} lookups as done for every filter, create and
+ * status change. {@code position} picks the first or the last constant of
+ * each enum, bracketing the cost of the linear scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DisplayNameLookupBenchmark {
+
+    @Param({"first", "last"})
+    public String position;
+
+    private String status;
+    private String category;
+    private String priority;
+
+    @Setup
+    public void setUp() {
+        boolean first = "first".equals(position);
+        // Copies, so equals() compares characters instead of short-circuiting on identity
+        status = new String(pick(IssueStatus.values(), first).getDisplayName());
+        category = new String(pick(IssueCategory.values(), first).getDisplayName());
+        priority = new String(pick(IssuePriority.values(), first).getDisplayName());
+    }
+
+    @Benchmark
+    public IssueStatus status() {
+        return IssueStatus.fromDisplayName(status);
+    }
+
+    @Benchmark
+    public IssueCategory category() {
+        return IssueCategory.fromDisplayName(category);
+    }
+
+    @Benchmark
+    public IssuePriority priority() {
+        return IssuePriority.fromDisplayName(priority);
+    }
+
+    private static <E> E pick(E[] values, boolean first) {
+        return first ? values[0] : values[values.length - 1];
+    }
+}
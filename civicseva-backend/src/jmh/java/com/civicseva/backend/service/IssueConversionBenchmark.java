@@ -0,0 +1,43 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.model.Issue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link IssueService#convertToDto} for one issue with its updates
+ * and images, as paid once per issue on every read path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IssueConversionBenchmark {
+
+    private IssueService issueService;
+    private Issue issue;
+
+    @Setup
+    public void setUp() {
+        issueService = IssueFixtures.converter();
+        issue = IssueFixtures.issue(42);
+    }
+
+    @Benchmark
+    public IssueDto convertToDto() {
+        return issueService.convertToDto(issue);
+    }
+}
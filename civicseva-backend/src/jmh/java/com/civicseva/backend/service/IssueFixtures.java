@@ -0,0 +1,86 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueImage;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.model.IssueUpdate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Issue graphs shaped like production data for the JMH benchmarks: a
+ * resolved-in-progress issue with four updates, a store-backed "Before"
+ * photo and an external "After" photo.
+ */
+public final class IssueFixtures {
+
+    private static final IssueCategory[] CATEGORIES = IssueCategory.values();
+    private static final IssuePriority[] PRIORITIES = IssuePriority.values();
+    private static final LocalDateTime REPORTED_AT = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private static final IssueService CONVERTER = new IssueService();
+
+    private IssueFixtures() {}
+
+    public static Issue issue(int n) {
+        Issue issue = new Issue(
+                "Deep pothole on Market Road near bus stop " + n,
+                "A pothole roughly half a metre wide has opened in the left lane and is filling with water. "
+                        + "Two-wheelers are swerving into oncoming traffic to avoid it. Reported by resident " + n + ".",
+                12.9716 + (n % 1000) / 10000.0,
+                77.5946 + (n % 1000) / 10000.0,
+                n + " Market Road, Bengaluru, Karnataka 560001",
+                CATEGORIES[n % CATEGORIES.length],
+                "Public Works");
+        issue.setId((long) n);
+        issue.setIssueId("IS-" + (100000 + n));
+        issue.setVersion(3L);
+        issue.setPriority(PRIORITIES[n % PRIORITIES.length]);
+        issue.setImageHint("pothole road water");
+        issue.setConfidence(0.93);
+        issue.setEta(REPORTED_AT.plusDays(3));
+        issue.setReportedAt(REPORTED_AT.plusMinutes(n));
+        issue.setImageUrl("/api/images/" + hash(n));
+
+        issue.addUpdate(new IssueUpdate(IssueStatus.REPORTED, "Issue submitted by citizen.", issue));
+        issue.addUpdate(new IssueUpdate(IssueStatus.IN_PROGRESS, "Assigned to Public Works.", issue));
+        issue.addUpdate(new IssueUpdate(IssueStatus.IN_PROGRESS, "Crew scheduled for Thursday morning.", issue));
+        issue.addUpdate(new IssueUpdate(IssueStatus.IN_PROGRESS, "Barricades placed around the pothole.", issue));
+        issue.addImage(new IssueImage("/api/images/" + hash(n), "Before", issue));
+        issue.addImage(new IssueImage("https://cdn.example.com/issues/" + n + "/after.jpg", "After", issue));
+        return issue;
+    }
+
+    public static List<Issue> issues(int count) {
+        List<Issue> issues = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            issues.add(issue(i));
+        }
+        return issues;
+    }
+
+    public static IssueDto dto(int n) {
+        return CONVERTER.convertToDto(issue(n));
+    }
+
+    public static List<IssueDto> dtos(int count) {
+        List<IssueDto> dtos = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dtos.add(dto(i));
+        }
+        return dtos;
+    }
+
+    static IssueService converter() {
+        return CONVERTER;
+    }
+
+    private static String hash(int n) {
+        return String.format("%064x", 0x5eed_0000L + n);
+    }
+}
@@ -0,0 +1,113 @@
+package com.civicseva.backend.cache;
+
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.repository.IssueVersion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through caches for single-issue lookups and their versions.
+ * Entries expire after a fixed time and are invalidated precisely from
+ * committed {@link IssueChangeEvent}s: a change evicts the issue it touched.
+ *
+ * <p>Cached DTOs are shared between callers and must not be modified.
+ */
+@Component
+public class IssueCache implements MeterBinder {
+
+    public static final String ISSUES = "issues";
+    public static final String ISSUE_VERSIONS = "issueVersions";
+
+    private final Cache<String, IssueDto> issues;
+    private final Cache<String, IssueVersion> versions;
+
+    public IssueCache(@Value("${civicseva.cache.issues.maximum-size:10000}") long maximumIssues,
+                      @Value("${civicseva.cache.issues.ttl:5m}") Duration issueTtl) {
+        this.issues = Caffeine.newBuilder()
+                .maximumSize(maximumIssues)
+                .expireAfterWrite(issueTtl)
+                .recordStats()
+                .build();
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumIssues)
+                .expireAfterWrite(issueTtl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached issue or loads it. Absent issues are not cached, so a
+     * newly created issue is visible on the next lookup.
+     */
+    public Optional<IssueDto> getIssue(String issueId, Function<String, Optional<IssueDto>> loader) {
+        return Optional.ofNullable(issues.get(issueId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /** Returns the cached version of an issue or loads it; absent issues are not cached. */
+    public Optional<IssueVersion> getVersion(String issueId, Function<String, Optional<IssueVersion>> loader) {
+        return Optional.ofNullable(versions.get(issueId, id -> loader.apply(id).orElse(null)));
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        evict(event.getBefore());
+        evict(event.getAfter());
+    }
+
+    private void evict(IssueSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        issues.invalidate(snapshot.getIssueId());
+        versions.invalidate(snapshot.getIssueId());
+    }
+
+    /** Drops every entry, e.g. after the database was changed behind the application's back. */
+    public void invalidateAll() {
+        issues.invalidateAll();
+        versions.invalidateAll();
+    }
+
+    /** Publishes the same counters as {@link #stats()} as {@code cache.*} meters tagged by cache name. */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, issues, ISSUES);
+        CaffeineCacheMetrics.monitor(registry, versions, ISSUE_VERSIONS);
+    }
+
+    /** Hit, miss, load and eviction counters plus the current size of each cache. */
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put(ISSUES, stats(issues));
+        stats.put(ISSUE_VERSIONS, stats(versions));
+        return stats;
+    }
+
+    private static Map<String, Object> stats(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", cache.estimatedSize());
+        values.put("hitCount", stats.hitCount());
+        values.put("missCount", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("loadSuccessCount", stats.loadSuccessCount());
+        values.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        values.put("evictionCount", stats.evictionCount());
+        return values;
+    }
+}
@@ -2,9 +2,11 @@ package com.civicseva.backend.config;
 
 import com.civicseva.backend.model.*;
 import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.service.IssueChangeSequence;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 
@@ -14,7 +16,11 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private IssueRepository issueRepository;
 
+    @Autowired
+    private IssueChangeSequence changeSequence;
+
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         if (issueRepository.count() == 0) {
             initializeData();
@@ -125,6 +131,9 @@ public class DataInitializer implements CommandLineRunner {
         issue3.addUpdate(update3_3);
 
         // Save all issues
+        changeSequence.number(issue1);
+        changeSequence.number(issue2);
+        changeSequence.number(issue3);
         issueRepository.save(issue1);
         issueRepository.save(issue2);
         issueRepository.save(issue3);
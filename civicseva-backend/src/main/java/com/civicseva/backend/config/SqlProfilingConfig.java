@@ -0,0 +1,41 @@
+package com.civicseva.backend.config;
+
+import com.civicseva.backend.sql.SqlProfiler;
+import com.civicseva.backend.sql.SqlProfilingFilter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlProfilingConfig {
+
+    // Wraps the pool so every statement passes through SqlProfiler; static so it is registered before the DataSource
+    @Bean
+    public static BeanPostProcessor sqlProfilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(sqlProfiler.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration = new FilterRegistrationBean<>(new SqlProfilingFilter(sqlProfiler));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
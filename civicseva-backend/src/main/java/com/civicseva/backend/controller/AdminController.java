@@ -0,0 +1,54 @@
+package com.civicseva.backend.controller;
+
+import com.civicseva.backend.cache.IssueCache;
+import com.civicseva.backend.image.ImageDerivativePipeline;
+import com.civicseva.backend.sql.SqlProfiler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private ImageDerivativePipeline imageDerivativePipeline;
+
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStatistics() {
+        return ResponseEntity.ok(issueCache.stats());
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        issueCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/images")
+    public ResponseEntity<Map<String, Object>> getImagePipelineStatistics() {
+        return ResponseEntity.ok(imageDerivativePipeline.stats());
+    }
+
+    @GetMapping("/sql")
+    public ResponseEntity<Map<String, Object>> getSqlStatistics() {
+        return ResponseEntity.ok(sqlProfiler.stats());
+    }
+
+    @DeleteMapping("/sql")
+    public ResponseEntity<Void> resetSqlStatistics() {
+        sqlProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.civicseva.backend.controller;
+
+import com.civicseva.backend.image.ImageDerivative;
+import com.civicseva.backend.image.ImageStore;
+import com.civicseva.backend.image.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/images")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class ImageController {
+
+    // Tomcat's sendfile request attributes (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Content never changes under a given hash
+    private static final String IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        StoredImage image;
+        try (InputStream in = file.getInputStream()) {
+            image = imageStore.store(in);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("hash", image.getHash());
+        response.put("url", ImageStore.urlOf(image.getHash()));
+        response.put("contentType", image.getType().getContentType());
+        response.put("size", image.getSize());
+        response.put("duplicate", image.isDuplicate());
+        return ResponseEntity.status(image.isDuplicate() ? HttpStatus.OK : HttpStatus.CREATED).body(response);
+    }
+
+    @GetMapping("/{hash}")
+    public void getImage(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<StoredImage> found = imageStore.find(hash);
+        if (found.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        StoredImage image = found.get();
+        sendFile(image.getPath(), image.getSize(), image.getType().getContentType(),
+                "\"" + image.getHash() + "\"", request, response);
+    }
+
+    @GetMapping("/{hash}/{derivative}")
+    public void getDerivative(@PathVariable String hash, @PathVariable String derivative,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImageDerivative kind = ImageDerivative.fromName(derivative);
+        Path path = imageStore.derivativePath(hash, kind);
+        if (!Files.isRegularFile(path)) {
+            if (imageStore.find(hash).isEmpty()) {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            // Not generated yet, or no decoder for the format: fall back to the original
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.sendRedirect(request.getContextPath() + "/images/" + hash);
+            return;
+        }
+
+        sendFile(path, Files.size(path), MediaType.IMAGE_JPEG_VALUE,
+                "\"" + hash + "-" + kind.getName() + "\"", request, response);
+    }
+
+    /**
+     * Sends an immutable file without copying it through the heap: via
+     * Tomcat's sendfile when the connector supports it, otherwise via
+     * {@link FileChannel#transferTo} into the response channel.
+     */
+    private static void sendFile(Path path, long size, String contentType, String eTag,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+
+        response.setContentType(contentType);
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += file.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -1,14 +1,40 @@
 package com.civicseva.backend.controller;
 
 import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.CursorPageDto;
+import com.civicseva.backend.dto.IssueChangesDto;
 import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.dto.IssueFilterDto;
+import com.civicseva.backend.dto.IssueImageDto;
+import com.civicseva.backend.dto.IssueSearchResultDto;
+import com.civicseva.backend.dto.IssueStatisticsDto;
+import com.civicseva.backend.dto.IssueUpdateDto;
+import com.civicseva.backend.exception.ConcurrentUpdateException;
+import com.civicseva.backend.exception.PreconditionFailedException;
+import com.civicseva.backend.service.IssueBulkImporter;
+import com.civicseva.backend.service.IssueExporter;
 import com.civicseva.backend.service.IssueService;
+import com.civicseva.backend.service.IssueView;
+import com.civicseva.backend.service.ResourceVersion;
+import com.civicseva.backend.service.Versioned;
+import com.civicseva.backend.stream.IssueEventBroadcaster;
+import com.civicseva.backend.stream.IssueStreamFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,37 +45,165 @@ import java.util.Optional;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
 public class IssueController {
 
+    private static final String BULK_MEDIA_TYPE = "application/x-ndjson";
+
+    // Clients may keep a copy but must revalidate it with the ETag on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
     @Autowired
     private IssueService issueService;
 
+    @Autowired
+    private IssueBulkImporter issueBulkImporter;
+
+    @Autowired
+    private IssueExporter issueExporter;
+
+    @Autowired
+    private IssueEventBroadcaster issueEventBroadcaster;
+
     @GetMapping
-    public ResponseEntity<List<IssueDto>> getAllIssues(
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) String category,
-            @RequestParam(required = false) String department) {
-
-        List<IssueDto> issues;
-
-        if (status != null) {
-            issues = issueService.getIssuesByStatus(status);
-        } else if (category != null) {
-            issues = issueService.getIssuesByCategory(category);
-        } else if (department != null) {
-            issues = issueService.getIssuesByDepartment(department);
-        } else {
-            issues = issueService.getAllIssues();
+    public ResponseEntity<?> getAllIssues(
+            @ModelAttribute IssueFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_LIMIT) int limit,
+            @RequestParam(defaultValue = "false") boolean unpaged,
+            @RequestParam(required = false) String view,
+            HttpServletRequest request) {
+
+        IssueView issueView = IssueView.fromParameter(view);
+        if (isConditional(request)) {
+            // Answer a match without loading the page
+            ResourceVersion current = (unpaged
+                    ? issueService.getIssuesVersion(filter)
+                    : issueService.getIssuesPageVersion(filter, cursor, limit)).forView(issueView);
+            // Evaluated without the response, which must only carry validators describing the body it sends
+            ServletWebRequest validators = new ServletWebRequest(request);
+            if (validators.checkNotModified(current.getETag(), current.getLastModified())) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), current).build();
+            }
         }
 
-        return ResponseEntity.ok(issues);
+        // The tags come from the rows loaded for the body, so a write in between cannot make them disagree
+        Versioned<?> issues = loadIssues(filter, cursor, limit, unpaged, issueView);
+        return withValidators(ResponseEntity.ok(), issues.getVersion().forView(issueView)).body(issues.getBody());
+    }
+
+    private static ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder response,
+                                                             ResourceVersion version) {
+        response.cacheControl(REVALIDATE).eTag(version.getETag());
+        if (version.getLastModified() >= 0) {
+            response.lastModified(version.getLastModified());
+        }
+        return response;
+    }
+
+    private Versioned<?> loadIssues(IssueFilterDto filter, String cursor, int limit, boolean unpaged,
+                                    IssueView view) {
+        if (unpaged) {
+            // Legacy unpaged shape, only on explicit opt-in
+            return view == IssueView.SUMMARY
+                    ? issueService.searchVersionedIssueSummaries(filter)
+                    : issueService.searchVersionedIssues(filter, view);
+        }
+        return view == IssueView.SUMMARY
+                ? issueService.getVersionedIssueSummariesPage(filter, cursor, limit)
+                : issueService.getVersionedIssuesPage(filter, cursor, limit, view);
+    }
+
+    private static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportIssues(
+            @ModelAttribute IssueFilterDto filter,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        IssueExporter.Format exportFormat = IssueExporter.Format.fromParameter(format);
+        StreamingResponseBody body = issueExporter.export(filter, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"issues." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<IssueSearchResultDto<Object>> searchIssues(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_SEARCH_LIMIT) int limit,
+            @RequestParam(required = false) String view) {
+        return ResponseEntity.ok(issueService.searchIssuesByText(q, status, category, priority, limit,
+                IssueView.fromParameter(view)));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<IssueChangesDto> getIssueChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_LIMIT) int limit) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(issueService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamIssueEvents(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String bbox) {
+
+        IssueStreamFilter filter = IssueStreamFilter.of(department, category, bbox);
+        return issueEventBroadcaster.subscribe(filter)
+                .map(emitter -> ResponseEntity.ok()
+                        // Ask reverse proxies not to buffer the stream
+                        .header("X-Accel-Buffering", "no")
+                        .body(emitter))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
     }
 
     @GetMapping("/{issueId}")
-    public ResponseEntity<IssueDto> getIssueById(@PathVariable String issueId) {
-        Optional<IssueDto> issue = issueService.getIssueById(issueId);
-        return issue.map(ResponseEntity::ok)
+    public ResponseEntity<IssueDto> getIssueById(@PathVariable String issueId,
+                                                 @RequestParam(required = false) String view,
+                                                 WebRequest request) {
+        IssueView issueView = IssueView.forSingleIssue(view);
+        Optional<ResourceVersion> version = issueService.getIssueVersion(issueId).map(v -> v.forView(issueView));
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Answer repeat polls before the issue is loaded or converted
+        if (request.checkNotModified(version.get().getETag(), version.get().getLastModified())) {
+            return notModified();
+        }
+
+        Optional<IssueDto> issue = issueService.getIssueById(issueId, issueView);
+        return issue.map(dto -> ResponseEntity.ok().cacheControl(REVALIDATE).body(dto))
                    .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{issueId}/updates")
+    public ResponseEntity<CursorPageDto<IssueUpdateDto>> getIssueUpdates(
+            @PathVariable String issueId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_LIMIT) int limit) {
+        return issueService.getIssueUpdates(issueId, cursor, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{issueId}/images")
+    public ResponseEntity<CursorPageDto<IssueImageDto>> getIssueImages(
+            @PathVariable String issueId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_PAGE_LIMIT) int limit) {
+        return issueService.getIssueImages(issueId, cursor, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/nearby")
     public ResponseEntity<List<IssueDto>> getIssuesNearLocation(
             @RequestParam Double latitude,
@@ -60,6 +214,17 @@ public class IssueController {
         return ResponseEntity.ok(issues);
     }
 
+    @GetMapping("/nearest")
+    public ResponseEntity<List<IssueDto>> getNearestIssues(
+            @RequestParam Double latitude,
+            @RequestParam Double longitude,
+            @RequestParam(defaultValue = "" + IssueService.DEFAULT_NEAREST_K) int k,
+            @RequestParam(required = false) String status) {
+
+        List<IssueDto> issues = issueService.getNearestIssues(latitude, longitude, k, status);
+        return ResponseEntity.ok(issues);
+    }
+
     @PostMapping
     public ResponseEntity<Map<String, Object>> createIssue(@Valid @RequestBody CreateIssueDto createIssueDto) {
         try {
@@ -79,25 +244,39 @@ public class IssueController {
         }
     }
 
+    @PostMapping(value = "/bulk", consumes = {BULK_MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public void bulkCreateIssues(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Results are streamed per record, so the status is committed up front
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(BULK_MEDIA_TYPE);
+        issueBulkImporter.importIssues(request.getInputStream(), response.getOutputStream());
+    }
+
     @PutMapping("/{issueId}")
     public ResponseEntity<Map<String, Object>> updateIssue(
             @PathVariable String issueId,
-            @Valid @RequestBody CreateIssueDto updateDto) {
+            @Valid @RequestBody CreateIssueDto updateDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         try {
-            Optional<IssueDto> updatedIssue = issueService.updateIssue(issueId, updateDto);
+            Optional<IssueDto> updatedIssue = issueService.updateIssue(issueId, updateDto, ifMatch);
 
             if (updatedIssue.isPresent()) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
                 response.put("issue", updatedIssue.get());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                        .eTag(ResourceVersion.eTag(updatedIssue.get().getVersion()))
+                        .body(response);
             } else {
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
                 errorResponse.put("error", "Issue not found");
                 return ResponseEntity.notFound().build();
             }
+        } catch (PreconditionFailedException | ConcurrentUpdateException e) {
+            // Mapped to 412 and 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -111,22 +290,28 @@ public class IssueController {
             @PathVariable String issueId,
             @RequestParam String status,
             @RequestParam(required = false) String comments,
-            @RequestParam(required = false) String afterPhotoUrl) {
+            @RequestParam(required = false) String afterPhotoUrl,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         try {
-            Optional<IssueDto> updatedIssue = issueService.updateIssueStatus(issueId, status, comments, afterPhotoUrl);
+            Optional<IssueDto> updatedIssue = issueService.updateIssueStatus(issueId, status, comments, afterPhotoUrl, ifMatch);
 
             if (updatedIssue.isPresent()) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
                 response.put("issue", updatedIssue.get());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                        .eTag(ResourceVersion.eTag(updatedIssue.get().getVersion()))
+                        .body(response);
             } else {
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
                 errorResponse.put("error", "Issue not found");
                 return ResponseEntity.notFound().build();
             }
+        } catch (PreconditionFailedException | ConcurrentUpdateException e) {
+            // Mapped to 412 and 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -138,22 +323,28 @@ public class IssueController {
     @PatchMapping("/{issueId}/assign")
     public ResponseEntity<Map<String, Object>> assignIssueToDepartment(
             @PathVariable String issueId,
-            @RequestParam String department) {
+            @RequestParam String department,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         try {
-            Optional<IssueDto> updatedIssue = issueService.assignIssueToDepartment(issueId, department);
+            Optional<IssueDto> updatedIssue = issueService.assignIssueToDepartment(issueId, department, ifMatch);
 
             if (updatedIssue.isPresent()) {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
                 response.put("issue", updatedIssue.get());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                        .eTag(ResourceVersion.eTag(updatedIssue.get().getVersion()))
+                        .body(response);
             } else {
                 Map<String, Object> errorResponse = new HashMap<>();
                 errorResponse.put("success", false);
                 errorResponse.put("error", "Issue not found");
                 return ResponseEntity.notFound().build();
             }
+        } catch (PreconditionFailedException | ConcurrentUpdateException e) {
+            // Mapped to 412 and 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
@@ -181,28 +372,12 @@ public class IssueController {
     }
 
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Status counts
-        Map<String, Long> statusCounts = new HashMap<>();
-        statusCounts.put("Reported", issueService.getIssueCountByStatus("Reported"));
-        statusCounts.put("In Progress", issueService.getIssueCountByStatus("In Progress"));
-        statusCounts.put("Resolved", issueService.getIssueCountByStatus("Resolved"));
-
-        // Category counts
-        Map<String, Long> categoryCounts = new HashMap<>();
-        categoryCounts.put("Pothole", issueService.getIssueCountByCategory("Pothole"));
-        categoryCounts.put("Graffiti", issueService.getIssueCountByCategory("Graffiti"));
-        categoryCounts.put("Streetlight Outage", issueService.getIssueCountByCategory("Streetlight Outage"));
-        categoryCounts.put("Waste Management", issueService.getIssueCountByCategory("Waste Management"));
-        categoryCounts.put("Damaged Sign", issueService.getIssueCountByCategory("Damaged Sign"));
-        categoryCounts.put("Water Leak", issueService.getIssueCountByCategory("Water Leak"));
-        categoryCounts.put("Other", issueService.getIssueCountByCategory("Other"));
-
-        stats.put("statusCounts", statusCounts);
-        stats.put("categoryCounts", categoryCounts);
-
-        return ResponseEntity.ok(stats);
+    public ResponseEntity<IssueStatisticsDto> getStatistics() {
+        return ResponseEntity.ok(issueService.getStatistics());
+    }
+
+    // checkNotModified has already set the status and validator headers
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
     }
 }
@@ -0,0 +1,46 @@
+package com.civicseva.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkIssueResultDto {
+
+    private int index;
+    private boolean success;
+    private String issueId;
+    private Map<String, String> errors;
+
+    // Constructors
+    public BulkIssueResultDto() {}
+
+    public static BulkIssueResultDto created(int index, String issueId) {
+        BulkIssueResultDto result = new BulkIssueResultDto();
+        result.index = index;
+        result.success = true;
+        result.issueId = issueId;
+        return result;
+    }
+
+    public static BulkIssueResultDto failed(int index, Map<String, String> errors) {
+        BulkIssueResultDto result = new BulkIssueResultDto();
+        result.index = index;
+        result.success = false;
+        result.errors = errors;
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getIssueId() { return issueId; }
+    public void setIssueId(String issueId) { this.issueId = issueId; }
+
+    public Map<String, String> getErrors() { return errors; }
+    public void setErrors(Map<String, String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,24 @@
+package com.civicseva.backend.dto;
+
+import java.util.List;
+
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    // Constructors
+    public CursorPageDto() {}
+
+    public CursorPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,24 @@
+package com.civicseva.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class DeletedIssueDto {
+
+    private String id;
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public DeletedIssueDto() {}
+
+    public DeletedIssueDto(String id, LocalDateTime deletedAt) {
+        this.id = id;
+        this.deletedAt = deletedAt;
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
@@ -0,0 +1,34 @@
+package com.civicseva.backend.dto;
+
+import java.util.List;
+
+public class IssueChangesDto {
+
+    private List<IssueDto> issues;
+    private List<DeletedIssueDto> deleted;
+    private String nextToken;
+    private boolean hasMore;
+
+    // Constructors
+    public IssueChangesDto() {}
+
+    public IssueChangesDto(List<IssueDto> issues, List<DeletedIssueDto> deleted, String nextToken, boolean hasMore) {
+        this.issues = issues;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<IssueDto> getIssues() { return issues; }
+    public void setIssues(List<IssueDto> issues) { this.issues = issues; }
+
+    public List<DeletedIssueDto> getDeleted() { return deleted; }
+    public void setDeleted(List<DeletedIssueDto> deleted) { this.deleted = deleted; }
+
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -1,5 +1,6 @@
 package com.civicseva.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -22,8 +23,25 @@ public class IssueDto {
     private String department;
     private Double confidence;
     private LocalDateTime eta;
+
+    // Full view: the whole history
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<IssueUpdateDto> updates;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<IssueImageDto> images;
+    private Long version;
+
+    // Compact view: the latest update and the history sizes
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private IssueUpdateDto latestUpdate;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long updateCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long imageCount;
+
+    // Create response: open issues this report may duplicate
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<PossibleDuplicateDto> possibleDuplicates;
 
     // Constructors
     public IssueDto() {}
@@ -76,4 +94,19 @@ public class IssueDto {
 
     public List<IssueImageDto> getImages() { return images; }
     public void setImages(List<IssueImageDto> images) { this.images = images; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public IssueUpdateDto getLatestUpdate() { return latestUpdate; }
+    public void setLatestUpdate(IssueUpdateDto latestUpdate) { this.latestUpdate = latestUpdate; }
+
+    public Long getUpdateCount() { return updateCount; }
+    public void setUpdateCount(Long updateCount) { this.updateCount = updateCount; }
+
+    public Long getImageCount() { return imageCount; }
+    public void setImageCount(Long imageCount) { this.imageCount = imageCount; }
+
+    public List<PossibleDuplicateDto> getPossibleDuplicates() { return possibleDuplicates; }
+    public void setPossibleDuplicates(List<PossibleDuplicateDto> possibleDuplicates) { this.possibleDuplicates = possibleDuplicates; }
 }
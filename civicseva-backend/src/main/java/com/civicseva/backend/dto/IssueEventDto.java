@@ -0,0 +1,56 @@
+package com.civicseva.backend.dto;
+
+import java.time.LocalDateTime;
+
+/** One issue change as pushed on {@code GET /issues/stream}. */
+public class IssueEventDto {
+
+    private long sequence;
+    private String type;
+    private String issueId;
+    private String title;
+    private String status;
+    private String category;
+    private String priority;
+    private String department;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime occurredAt;
+
+    // Constructors
+    public IssueEventDto() {}
+
+    // Getters and Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getIssueId() { return issueId; }
+    public void setIssueId(String issueId) { this.issueId = issueId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,76 @@
+package com.civicseva.backend.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * List-endpoint filters bound from query parameters. Multi-valued fields
+ * accept repeated parameters or comma-separated values; every non-empty
+ * field narrows the result.
+ */
+public class IssueFilterDto {
+
+    private List<String> status;
+    private List<String> category;
+    private List<String> priority;
+    private List<String> department;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime reportedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime reportedTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime resolvedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime resolvedTo;
+
+    private Double minLatitude;
+    private Double maxLatitude;
+    private Double minLongitude;
+    private Double maxLongitude;
+
+    // Constructors
+    public IssueFilterDto() {}
+
+    // Getters and Setters
+    public List<String> getStatus() { return status; }
+    public void setStatus(List<String> status) { this.status = status; }
+
+    public List<String> getCategory() { return category; }
+    public void setCategory(List<String> category) { this.category = category; }
+
+    public List<String> getPriority() { return priority; }
+    public void setPriority(List<String> priority) { this.priority = priority; }
+
+    public List<String> getDepartment() { return department; }
+    public void setDepartment(List<String> department) { this.department = department; }
+
+    public LocalDateTime getReportedFrom() { return reportedFrom; }
+    public void setReportedFrom(LocalDateTime reportedFrom) { this.reportedFrom = reportedFrom; }
+
+    public LocalDateTime getReportedTo() { return reportedTo; }
+    public void setReportedTo(LocalDateTime reportedTo) { this.reportedTo = reportedTo; }
+
+    public LocalDateTime getResolvedFrom() { return resolvedFrom; }
+    public void setResolvedFrom(LocalDateTime resolvedFrom) { this.resolvedFrom = resolvedFrom; }
+
+    public LocalDateTime getResolvedTo() { return resolvedTo; }
+    public void setResolvedTo(LocalDateTime resolvedTo) { this.resolvedTo = resolvedTo; }
+
+    public Double getMinLatitude() { return minLatitude; }
+    public void setMinLatitude(Double minLatitude) { this.minLatitude = minLatitude; }
+
+    public Double getMaxLatitude() { return maxLatitude; }
+    public void setMaxLatitude(Double maxLatitude) { this.maxLatitude = maxLatitude; }
+
+    public Double getMinLongitude() { return minLongitude; }
+    public void setMinLongitude(Double minLongitude) { this.minLongitude = minLongitude; }
+
+    public Double getMaxLongitude() { return maxLongitude; }
+    public void setMaxLongitude(Double maxLongitude) { this.maxLongitude = maxLongitude; }
+}
@@ -1,9 +1,14 @@
 package com.civicseva.backend.dto;
 
+import com.civicseva.backend.image.ImageDerivative;
+import com.civicseva.backend.image.ImageStore;
+
 public class IssueImageDto {
 
     private String url;
     private String caption;
+    private String thumbnailUrl;
+    private String previewUrl;
 
     // Constructors
     public IssueImageDto() {}
@@ -13,10 +18,29 @@ public class IssueImageDto {
         this.caption = caption;
     }
 
+    /**
+     * Builds the DTO, adding derivative URLs when the image lives in the
+     * local image store; other URLs have no derivatives.
+     */
+    public static IssueImageDto of(String url, String caption) {
+        IssueImageDto dto = new IssueImageDto(url, caption);
+        ImageStore.hashOf(url).ifPresent(hash -> {
+            dto.setThumbnailUrl(ImageStore.derivativeUrlOf(hash, ImageDerivative.THUMBNAIL));
+            dto.setPreviewUrl(ImageStore.derivativeUrlOf(hash, ImageDerivative.PREVIEW));
+        });
+        return dto;
+    }
+
     // Getters and Setters
     public String getUrl() { return url; }
     public void setUrl(String url) { this.url = url; }
 
     public String getCaption() { return caption; }
     public void setCaption(String caption) { this.caption = caption; }
+
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+
+    public String getPreviewUrl() { return previewUrl; }
+    public void setPreviewUrl(String previewUrl) { this.previewUrl = previewUrl; }
 }
@@ -0,0 +1,22 @@
+package com.civicseva.backend.dto;
+
+public class IssueSearchHitDto<T> {
+
+    private double score;
+    private T issue;
+
+    // Constructors
+    public IssueSearchHitDto() {}
+
+    public IssueSearchHitDto(double score, T issue) {
+        this.score = score;
+        this.issue = issue;
+    }
+
+    // Getters and Setters
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public T getIssue() { return issue; }
+    public void setIssue(T issue) { this.issue = issue; }
+}
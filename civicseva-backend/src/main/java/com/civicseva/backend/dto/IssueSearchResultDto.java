@@ -0,0 +1,24 @@
+package com.civicseva.backend.dto;
+
+import java.util.List;
+
+public class IssueSearchResultDto<T> {
+
+    private int total;
+    private List<IssueSearchHitDto<T>> hits;
+
+    // Constructors
+    public IssueSearchResultDto() {}
+
+    public IssueSearchResultDto(int total, List<IssueSearchHitDto<T>> hits) {
+        this.total = total;
+        this.hits = hits;
+    }
+
+    // Getters and Setters
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+
+    public List<IssueSearchHitDto<T>> getHits() { return hits; }
+    public void setHits(List<IssueSearchHitDto<T>> hits) { this.hits = hits; }
+}
@@ -0,0 +1,29 @@
+package com.civicseva.backend.dto;
+
+import java.util.Map;
+
+public class IssueStatisticsDto {
+
+    private Map<String, Long> statusCounts;
+    private Map<String, Long> categoryCounts;
+    private Map<String, Long> departmentCounts;
+    private Map<String, Map<String, Long>> statusCategoryCounts;
+
+    // Constructors
+    public IssueStatisticsDto() {}
+
+    // Getters and Setters
+    public Map<String, Long> getStatusCounts() { return statusCounts; }
+    public void setStatusCounts(Map<String, Long> statusCounts) { this.statusCounts = statusCounts; }
+
+    public Map<String, Long> getCategoryCounts() { return categoryCounts; }
+    public void setCategoryCounts(Map<String, Long> categoryCounts) { this.categoryCounts = categoryCounts; }
+
+    public Map<String, Long> getDepartmentCounts() { return departmentCounts; }
+    public void setDepartmentCounts(Map<String, Long> departmentCounts) { this.departmentCounts = departmentCounts; }
+
+    public Map<String, Map<String, Long>> getStatusCategoryCounts() { return statusCategoryCounts; }
+    public void setStatusCategoryCounts(Map<String, Map<String, Long>> statusCategoryCounts) {
+        this.statusCategoryCounts = statusCategoryCounts;
+    }
+}
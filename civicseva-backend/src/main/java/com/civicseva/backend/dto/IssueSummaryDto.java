@@ -0,0 +1,39 @@
+package com.civicseva.backend.dto;
+
+import java.time.LocalDateTime;
+
+public class IssueSummaryDto {
+
+    private String id;
+    private String title;
+    private String status;
+    private String category;
+    private String priority;
+    private String department;
+    private LocalDateTime reportedAt;
+
+    // Constructors
+    public IssueSummaryDto() {}
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getPriority() { return priority; }
+    public void setPriority(String priority) { this.priority = priority; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
+    public LocalDateTime getReportedAt() { return reportedAt; }
+    public void setReportedAt(LocalDateTime reportedAt) { this.reportedAt = reportedAt; }
+}
@@ -0,0 +1,27 @@
+package com.civicseva.backend.dto;
+
+public class PossibleDuplicateDto {
+
+    private double similarity;
+    private double distanceKm;
+    private IssueSummaryDto issue;
+
+    // Constructors
+    public PossibleDuplicateDto() {}
+
+    public PossibleDuplicateDto(double similarity, double distanceKm, IssueSummaryDto issue) {
+        this.similarity = similarity;
+        this.distanceKm = distanceKm;
+        this.issue = issue;
+    }
+
+    // Getters and Setters
+    public double getSimilarity() { return similarity; }
+    public void setSimilarity(double similarity) { this.similarity = similarity; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+
+    public IssueSummaryDto getIssue() { return issue; }
+    public void setIssue(IssueSummaryDto issue) { this.issue = issue; }
+}
@@ -0,0 +1,46 @@
+package com.civicseva.backend.event;
+
+/**
+ * Published by {@code IssueService} on every issue write. Listeners that
+ * maintain derived state should use {@code @TransactionalEventListener} so
+ * they only observe committed changes.
+ */
+public class IssueChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        ASSIGNED,
+        DELETED
+    }
+
+    private final Type type;
+    private final IssueSnapshot before;
+    private final IssueSnapshot after;
+
+    public IssueChangeEvent(Type type, IssueSnapshot before, IssueSnapshot after) {
+        this.type = type;
+        this.before = before;
+        this.after = after;
+    }
+
+    public static IssueChangeEvent created(IssueSnapshot after) {
+        return new IssueChangeEvent(Type.CREATED, null, after);
+    }
+
+    public static IssueChangeEvent deleted(IssueSnapshot before) {
+        return new IssueChangeEvent(Type.DELETED, before, null);
+    }
+
+    public Type getType() { return type; }
+
+    /** State before the write, or null for {@link Type#CREATED}. */
+    public IssueSnapshot getBefore() { return before; }
+
+    /** State after the write, or null for {@link Type#DELETED}. */
+    public IssueSnapshot getAfter() { return after; }
+
+    /** The most recent known state: after the write, or before a delete. */
+    public IssueSnapshot getCurrent() { return after != null ? after : before; }
+}
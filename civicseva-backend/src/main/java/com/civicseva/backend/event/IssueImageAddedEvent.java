@@ -0,0 +1,20 @@
+package com.civicseva.backend.event;
+
+/**
+ * Published when an image is attached to an issue or an existing image's
+ * URL changes. Listeners only see it once the transaction commits.
+ */
+public class IssueImageAddedEvent {
+
+    private final String issueId;
+    private final String url;
+
+    public IssueImageAddedEvent(String issueId, String url) {
+        this.issueId = issueId;
+        this.url = url;
+    }
+
+    // Getters
+    public String getIssueId() { return issueId; }
+    public String getUrl() { return url; }
+}
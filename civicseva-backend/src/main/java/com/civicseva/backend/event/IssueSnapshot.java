@@ -0,0 +1,64 @@
+package com.civicseva.backend.event;
+
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an issue's scalar fields, taken inside the writing
+ * transaction so listeners can use it safely after commit.
+ */
+public final class IssueSnapshot {
+
+    private final Long id;
+    private final String issueId;
+    private final String title;
+    private final String description;
+    private final String address;
+    private final Double latitude;
+    private final Double longitude;
+    private final IssueStatus status;
+    private final IssueCategory category;
+    private final IssuePriority priority;
+    private final String department;
+    private final LocalDateTime reportedAt;
+    private final LocalDateTime resolvedAt;
+
+    private IssueSnapshot(Issue issue) {
+        this.id = issue.getId();
+        this.issueId = issue.getIssueId();
+        this.title = issue.getTitle();
+        this.description = issue.getDescription();
+        this.address = issue.getAddress();
+        this.latitude = issue.getLatitude();
+        this.longitude = issue.getLongitude();
+        this.status = issue.getStatus();
+        this.category = issue.getCategory();
+        this.priority = issue.getPriority();
+        this.department = issue.getDepartment();
+        this.reportedAt = issue.getReportedAt();
+        this.resolvedAt = issue.getResolvedAt();
+    }
+
+    public static IssueSnapshot of(Issue issue) {
+        return new IssueSnapshot(issue);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getIssueId() { return issueId; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public IssueStatus getStatus() { return status; }
+    public IssueCategory getCategory() { return category; }
+    public IssuePriority getPriority() { return priority; }
+    public String getDepartment() { return department; }
+    public LocalDateTime getReportedAt() { return reportedAt; }
+    public LocalDateTime getResolvedAt() { return resolvedAt; }
+}
@@ -0,0 +1,14 @@
+package com.civicseva.backend.exception;
+
+/**
+ * Thrown when a delta-sync token predates deletions whose tombstones have
+ * been pruned, so the client must sync again from scratch.
+ */
+public class ChangeTokenExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ChangeTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.civicseva.backend.exception;
+
+/**
+ * Thrown when an unconditional write still loses to concurrent writers after
+ * its bounded number of retries.
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
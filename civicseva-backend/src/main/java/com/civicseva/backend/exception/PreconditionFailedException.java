@@ -0,0 +1,14 @@
+package com.civicseva.backend.exception;
+
+/**
+ * Thrown when a write carries an {@code If-Match} tag that no longer matches
+ * the issue, either on arrival or because a concurrent write committed first.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
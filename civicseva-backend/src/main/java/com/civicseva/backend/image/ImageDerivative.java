@@ -0,0 +1,36 @@
+package com.civicseva.backend.image;
+
+import java.util.Locale;
+
+/**
+ * Fixed-size JPEG renditions generated for every stored image. Each fits
+ * within a square of {@code maxDimension} pixels, keeping the aspect ratio.
+ */
+public enum ImageDerivative {
+    THUMBNAIL(160),
+    PREVIEW(640);
+
+    private final int maxDimension;
+
+    ImageDerivative(int maxDimension) {
+        this.maxDimension = maxDimension;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    /** The path segment used in derivative URLs and file names. */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageDerivative fromName(String name) {
+        for (ImageDerivative derivative : values()) {
+            if (derivative.getName().equals(name)) {
+                return derivative;
+            }
+        }
+        throw new IllegalArgumentException("Unknown image derivative: " + name);
+    }
+}
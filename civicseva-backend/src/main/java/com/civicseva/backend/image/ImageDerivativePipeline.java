@@ -0,0 +1,235 @@
+package com.civicseva.backend.image;
+
+import com.civicseva.backend.event.IssueImageAddedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates the {@link ImageDerivative} renditions of stored images in the
+ * background once an issue referencing them commits.
+ *
+ * <p>Work runs on a fixed pool with a bounded queue. When the queue is full
+ * the submitting thread runs the job itself, which slows the uploader down
+ * instead of dropping work or growing memory. Sources are decoded with
+ * subsampling so large photos never materialise at full resolution.
+ */
+@Component
+public class ImageDerivativePipeline implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDerivativePipeline.class);
+
+    // Decode at no more than this multiple of the largest derivative for decent downscaling quality
+    private static final int DECODE_HEADROOM = 2;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Value("${civicseva.images.derivatives.workers:2}")
+    private int workers;
+
+    @Value("${civicseva.images.derivatives.queue-capacity:100}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder latencyCount = new LongAdder();
+    private final LongAdder latencyTotalNanos = new LongAdder();
+    private final AtomicLong latencyMaxNanos = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "image-derivatives-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                (job, pool) -> {
+                    callerRuns.increment();
+                    if (!pool.isShutdown()) {
+                        job.run();
+                    }
+                });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onImageAdded(IssueImageAddedEvent event) {
+        ImageStore.hashOf(event.getUrl()).ifPresent(this::submit);
+    }
+
+    public void submit(String hash) {
+        long queuedAt = System.nanoTime();
+        executor.execute(() -> {
+            try {
+                generate(hash);
+                completed.increment();
+            } catch (Exception e) {
+                failed.increment();
+                log.warn("Could not generate derivatives for image {}", hash, e);
+            } finally {
+                recordLatency(System.nanoTime() - queuedAt);
+            }
+        });
+    }
+
+    /** Writes every missing derivative of the image; returns false if it cannot be decoded. */
+    boolean generate(String hash) throws IOException {
+        Optional<StoredImage> found = imageStore.find(hash);
+        if (found.isEmpty() || allDerivativesExist(hash)) {
+            return true;
+        }
+
+        BufferedImage source = decode(found.get().getPath());
+        if (source == null) {
+            // No ImageIO reader for this format (e.g. WebP); clients fall back to the original
+            log.debug("No decoder for image {}", hash);
+            return false;
+        }
+        for (ImageDerivative derivative : ImageDerivative.values()) {
+            BufferedImage scaled = scale(source, derivative.getMaxDimension());
+            imageStore.storeDerivative(hash, derivative, target -> {
+                if (!ImageIO.write(scaled, "jpg", target.toFile())) {
+                    throw new IOException("No JPEG writer available");
+                }
+            });
+        }
+        return true;
+    }
+
+    /** Queue depth, worker activity, outcome counters and latency from submission to completion. */
+    public Map<String, Object> stats() {
+        long count = latencyCount.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("activeWorkers", executor.getActiveCount());
+        stats.put("completed", completed.sum());
+        stats.put("failed", failed.sum());
+        stats.put("callerRuns", callerRuns.sum());
+        stats.put("averageLatencyMillis", count > 0 ? latencyTotalNanos.sum() / count / 1_000_000.0 : 0.0);
+        stats.put("maxLatencyMillis", latencyMaxNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("civicseva.images.derivatives.queue.depth", this, pipeline -> pipeline.executor.getQueue().size())
+                .description("Images waiting for derivative generation")
+                .register(registry);
+        Gauge.builder("civicseva.images.derivatives.workers.active", this, pipeline -> pipeline.executor.getActiveCount())
+                .register(registry);
+        FunctionCounter.builder("civicseva.images.derivatives.completed", completed, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("civicseva.images.derivatives.failed", failed, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("civicseva.images.derivatives.caller.runs", callerRuns, LongAdder::sum)
+                .description("Jobs run by the submitting thread because the queue was full")
+                .register(registry);
+        FunctionTimer.builder("civicseva.images.derivatives.latency", this,
+                        pipeline -> pipeline.latencyCount.sum(), pipeline -> pipeline.latencyTotalNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("Time from submission to completion")
+                .register(registry);
+    }
+
+    private boolean allDerivativesExist(String hash) {
+        for (ImageDerivative derivative : ImageDerivative.values()) {
+            if (!Files.exists(imageStore.derivativePath(hash, derivative))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void recordLatency(long nanos) {
+        latencyCount.increment();
+        latencyTotalNanos.add(nanos);
+        latencyMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static BufferedImage decode(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int largest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int target = ImageDerivative.PREVIEW.getMaxDimension() * DECODE_HEADROOM;
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, largest / target);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double factor = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+
+        // JPEG has no alpha channel, so flatten transparency onto white
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+}
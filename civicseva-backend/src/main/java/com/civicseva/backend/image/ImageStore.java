@@ -0,0 +1,168 @@
+package com.civicseva.backend.image;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image files on local disk. Each upload is streamed to a
+ * temporary file while its SHA-256 is computed, then renamed to
+ * {@code <root>/<h0h1>/<h2h3>/<hash>}; content that is already present is
+ * kept once. Files are immutable once stored, so their hash doubles as a
+ * permanent cache key.
+ */
+@Component
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    /** Public URL prefix of stored images, including the servlet context path. */
+    public static final String URL_PREFIX = "/api/images/";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${civicseva.images.directory:data/images}")
+    private String directory;
+
+    private Path root;
+    private Path incoming;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(directory).toAbsolutePath().normalize();
+        incoming = root.resolve("incoming");
+        Files.createDirectories(incoming);
+        log.info("Storing images under {}", root);
+    }
+
+    /**
+     * Streams {@code content} into the store. Rejects anything that is not a
+     * supported image with {@link IllegalArgumentException}.
+     */
+    public StoredImage store(InputStream content) throws IOException {
+        Path temp = Files.createTempFile(incoming, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                size = IOUtils.copyLarge(content, out);
+            }
+
+            ImageType type = detect(temp)
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported image type; expected JPEG, PNG, GIF or WebP"));
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathOf(hash);
+
+            if (Files.exists(target)) {
+                return new StoredImage(hash, target, size, type, true);
+            }
+            Files.createDirectories(target.getParent());
+            // Same content always lands on the same name, so a concurrent identical upload is harmless
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new StoredImage(hash, target, size, type, false);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /** Looks up stored content by hash; malformed hashes are rejected. */
+    public Optional<StoredImage> find(String hash) throws IOException {
+        checkHash(hash);
+        Path path = pathOf(hash);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        ImageType type = detect(path).orElseThrow(() -> new IllegalStateException("Corrupt image file " + path));
+        return Optional.of(new StoredImage(hash, path, Files.size(path), type, true));
+    }
+
+    /** Where the given derivative of an image lives, whether or not it has been generated yet. */
+    public Path derivativePath(String hash, ImageDerivative derivative) {
+        checkHash(hash);
+        return pathOf(hash).resolveSibling(hash + "-" + derivative.getName() + ".jpg");
+    }
+
+    /**
+     * Writes a derivative through a temporary file and renames it into place,
+     * so readers never see a partially written file.
+     */
+    public void storeDerivative(String hash, ImageDerivative derivative, DerivativeWriter writer) throws IOException {
+        Path temp = Files.createTempFile(incoming, "derivative-", ".tmp");
+        try {
+            writer.write(temp);
+            Files.move(temp, derivativePath(hash, derivative), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    public interface DerivativeWriter {
+        void write(Path target) throws IOException;
+    }
+
+    /** Extracts the content hash from a URL served by this store, if it is one. */
+    public static Optional<String> hashOf(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return Optional.empty();
+        }
+        String hash = url.substring(URL_PREFIX.length());
+        return HASH.matcher(hash).matches() ? Optional.of(hash) : Optional.empty();
+    }
+
+    public static String urlOf(String hash) {
+        return URL_PREFIX + hash;
+    }
+
+    public static String derivativeUrlOf(String hash, ImageDerivative derivative) {
+        return URL_PREFIX + hash + "/" + derivative.getName();
+    }
+
+    private static void checkHash(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Invalid image hash: " + hash);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static Optional<ImageType> detect(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(ImageType.HEADER_LENGTH);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is full or the file ends
+            }
+            return ImageType.detect(header.array(), header.position());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
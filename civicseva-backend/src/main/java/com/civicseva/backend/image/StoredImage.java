@@ -0,0 +1,32 @@
+package com.civicseva.backend.image;
+
+import java.nio.file.Path;
+
+/**
+ * A file in the {@link ImageStore}, named by the SHA-256 of its content.
+ */
+public final class StoredImage {
+
+    private final String hash;
+    private final Path path;
+    private final long size;
+    private final ImageType type;
+    private final boolean duplicate;
+
+    public StoredImage(String hash, Path path, long size, ImageType type, boolean duplicate) {
+        this.hash = hash;
+        this.path = path;
+        this.size = size;
+        this.type = type;
+        this.duplicate = duplicate;
+    }
+
+    // Getters
+    public String getHash() { return hash; }
+    public Path getPath() { return path; }
+    public long getSize() { return size; }
+    public ImageType getType() { return type; }
+
+    /** Whether identical content was already stored before this upload. */
+    public boolean isDuplicate() { return duplicate; }
+}
@@ -0,0 +1,120 @@
+package com.civicseva.backend.metrics;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.statistics.IssueStatistics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Business metrics derived from committed {@link IssueChangeEvent}s:
+ * counters of created, resolved and assigned issues, and gauges of the open
+ * backlog read from {@link IssueStatistics}.
+ *
+ * <p>Every tag has bounded cardinality. Categories and statuses are enums;
+ * departments are free-form, so only the first {@code max-departments}
+ * distinct names get their own tag value and the rest share
+ * {@value #OTHER_DEPARTMENT}. Issue ids are never used as tags.
+ */
+@Component
+public class IssueMetrics {
+
+    static final String CREATED = "civicseva.issues.created";
+    static final String RESOLVED = "civicseva.issues.resolved";
+    static final String ASSIGNED = "civicseva.issues.assigned";
+    static final String BACKLOG = "civicseva.issues.backlog";
+
+    static final String OTHER_DEPARTMENT = "other";
+    static final String NO_DEPARTMENT = "none";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private IssueStatistics issueStatistics;
+
+    @Value("${civicseva.metrics.max-departments:20}")
+    private int maxDepartments;
+
+    private final Set<String> departments = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        for (IssueStatus status : IssueStatus.values()) {
+            if (status == IssueStatus.RESOLVED) {
+                continue;
+            }
+            for (IssueCategory category : IssueCategory.values()) {
+                Gauge.builder(BACKLOG, issueStatistics, statistics -> statistics.getCount(status, category))
+                        .description("Open issues by status and category")
+                        .tag("status", status.name())
+                        .tag("category", category.name())
+                        .register(registry);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        IssueSnapshot before = event.getBefore();
+        IssueSnapshot after = event.getAfter();
+        if (after == null) {
+            return;
+        }
+
+        if (before == null) {
+            Counter.builder(CREATED)
+                    .description("Issues reported")
+                    .tag("category", after.getCategory().name())
+                    .register(registry)
+                    .increment();
+            return;
+        }
+
+        if (after.getStatus() == IssueStatus.RESOLVED && before.getStatus() != IssueStatus.RESOLVED) {
+            Counter.builder(RESOLVED)
+                    .description("Issues moved to Resolved")
+                    .tag("category", after.getCategory().name())
+                    .tag("department", departmentTag(after.getDepartment()))
+                    .register(registry)
+                    .increment();
+        }
+        if (event.getType() == IssueChangeEvent.Type.ASSIGNED
+                && !Objects.equals(before.getDepartment(), after.getDepartment())) {
+            Counter.builder(ASSIGNED)
+                    .description("Issues assigned to a department")
+                    .tag("category", after.getCategory().name())
+                    .tag("department", departmentTag(after.getDepartment()))
+                    .register(registry)
+                    .increment();
+        }
+    }
+
+    String departmentTag(String department) {
+        if (department == null || department.isBlank()) {
+            return NO_DEPARTMENT;
+        }
+        String name = department.trim();
+        if (departments.contains(name)) {
+            return name;
+        }
+        // Admission may overshoot the cap by a few under a race, which still bounds it
+        if (departments.size() < maxDepartments) {
+            departments.add(name);
+            return name;
+        }
+        return OTHER_DEPARTMENT;
+    }
+}
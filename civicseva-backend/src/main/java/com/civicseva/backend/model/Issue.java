@@ -6,15 +6,34 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "issues")
+@Table(name = "issues", indexes = {
+    // Keyset order for unfiltered lists and reported-at ranges
+    @Index(name = "idx_issues_reported", columnList = "reported_at, id"),
+    // One index per facet combination the admin data table can send, each
+    // ending in the keyset columns so filtered pages need no sort
+    @Index(name = "idx_issues_status_reported", columnList = "status, reported_at, id"),
+    @Index(name = "idx_issues_category_reported", columnList = "category, reported_at, id"),
+    @Index(name = "idx_issues_priority_reported", columnList = "priority, reported_at, id"),
+    @Index(name = "idx_issues_status_category_reported", columnList = "status, category, reported_at, id"),
+    @Index(name = "idx_issues_status_priority_reported", columnList = "status, priority, reported_at, id"),
+    @Index(name = "idx_issues_category_priority_reported", columnList = "category, priority, reported_at, id"),
+    @Index(name = "idx_issues_status_category_priority_reported",
+           columnList = "status, category, priority, reported_at, id"),
+    @Index(name = "idx_issues_department_reported", columnList = "department, reported_at, id"),
+    @Index(name = "idx_issues_resolved", columnList = "resolved_at"),
+    @Index(name = "idx_issues_location", columnList = "latitude, longitude"),
+    // Delta sync reads the rows changed after a client's last sequence
+    @Index(name = "idx_issues_change_seq", columnList = "change_seq")
+})
 public class Issue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_seq")
+    @SequenceGenerator(name = "issue_seq", sequenceName = "issue_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
-    private String issueId; // IS-12345 format
+    private String issueId; // IS-123456 format, assigned by IssueIdAllocator
 
     @Column(nullable = false)
     private String title;
@@ -69,6 +88,14 @@ public class Issue {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: every write checks and bumps it, and it backs the ETag
+    @Version
+    private Long version;
+
+    // Position of the issue's latest write in IssueChangeSequence, set as the write commits
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+
     @OneToMany(mappedBy = "issue", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<IssueUpdate> updates = new ArrayList<>();
 
@@ -82,9 +109,6 @@ public class Issue {
         if (reportedAt == null) {
             reportedAt = LocalDateTime.now();
         }
-        if (issueId == null) {
-            issueId = generateIssueId();
-        }
     }
 
     @PreUpdate
@@ -92,10 +116,6 @@ public class Issue {
         updatedAt = LocalDateTime.now();
     }
 
-    private String generateIssueId() {
-        return "IS-" + (10000 + (int)(Math.random() * 90000));
-    }
-
     // Constructors
     public Issue() {}
 
@@ -113,14 +133,18 @@ public class Issue {
     }
 
     // Helper methods
+    // Updates and images are part of the issue's representation, so adding
+    // one counts as modifying the issue even when no column of its own changes
     public void addUpdate(IssueUpdate update) {
         updates.add(update);
         update.setIssue(this);
+        updatedAt = LocalDateTime.now();
     }
 
     public void addImage(IssueImage image) {
         images.add(image);
         image.setIssue(this);
+        updatedAt = LocalDateTime.now();
     }
 
     // Getters and Setters
@@ -181,6 +205,12 @@ public class Issue {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+
     public List<IssueUpdate> getUpdates() { return updates; }
     public void setUpdates(List<IssueUpdate> updates) { this.updates = updates; }
 
@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "issue_images")
+@Table(name = "issue_images", indexes = {
+    // Keyset order of the per-issue timeline endpoints
+    @Index(name = "idx_issue_images_issue_created", columnList = "issue_id, created_at, id")
+})
 public class IssueImage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_image_seq")
+    @SequenceGenerator(name = "issue_image_seq", sequenceName = "issue_image_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -0,0 +1,45 @@
+package com.civicseva.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Records that an issue was deleted, so clients syncing from an earlier
+ * change sequence learn to drop their copy.
+ */
+@Entity
+@Table(name = "issue_tombstones", indexes = {
+    @Index(name = "idx_issue_tombstones_change_seq", columnList = "change_seq"),
+    @Index(name = "idx_issue_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class IssueTombstone {
+
+    @Id
+    @Column(name = "issue_id")
+    private String issueId;
+
+    // Set by IssueChangeSequence as the deletion commits
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq = 0L;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    // Constructors
+    public IssueTombstone() {}
+
+    public IssueTombstone(String issueId) {
+        this.issueId = issueId;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getIssueId() { return issueId; }
+    public void setIssueId(String issueId) { this.issueId = issueId; }
+
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
+
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
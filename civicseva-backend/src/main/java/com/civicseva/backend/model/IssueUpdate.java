@@ -4,11 +4,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "issue_updates")
+@Table(name = "issue_updates", indexes = {
+    // Keyset order of the per-issue timeline endpoints
+    @Index(name = "idx_issue_updates_issue_timestamp", columnList = "issue_id, timestamp, id")
+})
 public class IssueUpdate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "issue_update_seq")
+    @SequenceGenerator(name = "issue_update_seq", sequenceName = "issue_update_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,51 @@
+package com.civicseva.backend.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque delta-sync position: the highest change sequence a client has
+ * already applied, and when the client's copy was last brought up to date.
+ * Like {@link Cursor}, clients only see the encoded form.
+ */
+public final class ChangeToken {
+
+    private static final String PREFIX = "v1:";
+    private static final char SEPARATOR = '|';
+
+    private final long sequence;
+    private final LocalDateTime syncedAt;
+
+    public ChangeToken(long sequence, LocalDateTime syncedAt) {
+        this.sequence = sequence;
+        this.syncedAt = syncedAt;
+    }
+
+    public long getSequence() { return sequence; }
+
+    public LocalDateTime getSyncedAt() { return syncedAt; }
+
+    public String encode() {
+        String raw = PREFIX + sequence + SEPARATOR + syncedAt;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeToken decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException();
+            }
+            int separator = raw.indexOf(SEPARATOR);
+            long sequence = Long.parseLong(raw.substring(PREFIX.length(), separator));
+            if (sequence < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new ChangeToken(sequence, LocalDateTime.parse(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid change token: " + encoded);
+        }
+    }
+}
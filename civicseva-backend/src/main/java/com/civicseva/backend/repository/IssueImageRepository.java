@@ -1,13 +1,34 @@
 package com.civicseva.backend.repository;
 
 import com.civicseva.backend.model.IssueImage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IssueImageRepository extends JpaRepository<IssueImage, Long> {
 
-    List<IssueImage> findByIssueIdOrderByCreatedAtAsc(Long issueId);
+    // Oldest first, so "Before" photos lead; id breaks createdAt ties
+    @Query("SELECT i FROM IssueImage i WHERE i.issue.id = :issueId ORDER BY i.createdAt, i.id")
+    List<IssueImage> findByIssueIdOrderByCreatedAtAsc(@Param("issueId") Long issueId, Limit limit);
+
+    @Query("SELECT i FROM IssueImage i WHERE i.issue.id = :issueId " +
+           "AND (i.createdAt > :createdAt OR (i.createdAt = :createdAt AND i.id > :id)) " +
+           "ORDER BY i.createdAt, i.id")
+    List<IssueImage> findByIssueIdAfter(@Param("issueId") Long issueId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Limit limit);
+
+    @Query("SELECT i FROM IssueImage i WHERE i.issue.id IN :issueIds ORDER BY i.id")
+    List<IssueImage> findByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+
+    @Query("SELECT i.issue.id, COUNT(i) FROM IssueImage i WHERE i.issue.id IN :issueIds GROUP BY i.issue.id")
+    List<Object[]> countByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
 }
@@ -0,0 +1,68 @@
+package com.civicseva.backend.repository;
+
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Typed filter criteria for {@link IssueRepositoryCustom}. Empty sets and
+ * null bounds mean "no restriction"; everything else is combined with AND.
+ */
+public class IssueQuery {
+
+    private Set<IssueStatus> statuses = Set.of();
+    private Set<IssueCategory> categories = Set.of();
+    private Set<IssuePriority> priorities = Set.of();
+    private Set<String> departments = Set.of();
+    private LocalDateTime reportedFrom;
+    private LocalDateTime reportedTo;
+    private LocalDateTime resolvedFrom;
+    private LocalDateTime resolvedTo;
+    private Double minLatitude;
+    private Double maxLatitude;
+    private Double minLongitude;
+    private Double maxLongitude;
+
+    // Constructors
+    public IssueQuery() {}
+
+    // Getters and Setters
+    public Set<IssueStatus> getStatuses() { return statuses; }
+    public void setStatuses(Set<IssueStatus> statuses) { this.statuses = statuses; }
+
+    public Set<IssueCategory> getCategories() { return categories; }
+    public void setCategories(Set<IssueCategory> categories) { this.categories = categories; }
+
+    public Set<IssuePriority> getPriorities() { return priorities; }
+    public void setPriorities(Set<IssuePriority> priorities) { this.priorities = priorities; }
+
+    public Set<String> getDepartments() { return departments; }
+    public void setDepartments(Set<String> departments) { this.departments = departments; }
+
+    public LocalDateTime getReportedFrom() { return reportedFrom; }
+    public void setReportedFrom(LocalDateTime reportedFrom) { this.reportedFrom = reportedFrom; }
+
+    public LocalDateTime getReportedTo() { return reportedTo; }
+    public void setReportedTo(LocalDateTime reportedTo) { this.reportedTo = reportedTo; }
+
+    public LocalDateTime getResolvedFrom() { return resolvedFrom; }
+    public void setResolvedFrom(LocalDateTime resolvedFrom) { this.resolvedFrom = resolvedFrom; }
+
+    public LocalDateTime getResolvedTo() { return resolvedTo; }
+    public void setResolvedTo(LocalDateTime resolvedTo) { this.resolvedTo = resolvedTo; }
+
+    public Double getMinLatitude() { return minLatitude; }
+    public void setMinLatitude(Double minLatitude) { this.minLatitude = minLatitude; }
+
+    public Double getMaxLatitude() { return maxLatitude; }
+    public void setMaxLatitude(Double maxLatitude) { this.maxLatitude = maxLatitude; }
+
+    public Double getMinLongitude() { return minLongitude; }
+    public void setMinLongitude(Double minLongitude) { this.minLongitude = minLongitude; }
+
+    public Double getMaxLongitude() { return maxLongitude; }
+    public void setMaxLongitude(Double maxLongitude) { this.maxLongitude = maxLongitude; }
+}
@@ -3,42 +3,49 @@ package com.civicseva.backend.repository;
 import com.civicseva.backend.model.Issue;
 import com.civicseva.backend.model.IssueCategory;
 import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.search.IssueDocument;
+import com.civicseva.backend.spatial.IssueLocation;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface IssueRepository extends JpaRepository<Issue, Long> {
+public interface IssueRepository extends JpaRepository<Issue, Long>, IssueRepositoryCustom {
 
     Optional<Issue> findByIssueId(String issueId);
 
-    List<Issue> findByStatus(IssueStatus status);
-
-    List<Issue> findByCategory(IssueCategory category);
-
-    List<Issue> findByDepartment(String department);
-
     @Query("SELECT i FROM Issue i WHERE i.status = :status AND i.category = :category")
     List<Issue> findByStatusAndCategory(@Param("status") IssueStatus status,
                                        @Param("category") IssueCategory category);
 
-    @Query("SELECT i FROM Issue i WHERE " +
-           "(:latitude - i.latitude) * (:latitude - i.latitude) + " +
-           "(:longitude - i.longitude) * (:longitude - i.longitude) < :radiusSquared")
-    List<Issue> findIssuesNearLocation(@Param("latitude") Double latitude,
-                                      @Param("longitude") Double longitude,
-                                      @Param("radiusSquared") Double radiusSquared);
+    @Query("SELECT new com.civicseva.backend.spatial.IssueLocation(" +
+           "i.id, i.latitude, i.longitude, i.status, i.category, i.reportedAt) FROM Issue i")
+    List<IssueLocation> findAllLocations();
+
+    @Query("SELECT new com.civicseva.backend.repository.IssueVersion(i.id, i.version, i.updatedAt) " +
+           "FROM Issue i WHERE i.issueId = :issueId")
+    Optional<IssueVersion> findVersionByIssueId(@Param("issueId") String issueId);
+
+    @Query("SELECT i.status, i.category, i.department, COUNT(i) FROM Issue i " +
+           "GROUP BY i.status, i.category, i.department")
+    List<Object[]> countGroupedByStatusCategoryAndDepartment();
 
-    @Query("SELECT COUNT(i) FROM Issue i WHERE i.status = :status")
-    Long countByStatus(@Param("status") IssueStatus status);
+    List<Issue> findByChangeSeqBetweenOrderByChangeSeqAsc(Long from, Long to, Limit limit);
 
-    @Query("SELECT COUNT(i) FROM Issue i WHERE i.category = :category")
-    Long countByCategory(@Param("category") IssueCategory category);
+    @Query("SELECT new com.civicseva.backend.search.IssueDocument(" +
+           "i.id, i.title, i.description, i.address, i.status, i.category, i.priority) " +
+           "FROM Issue i WHERE i.id > :afterId ORDER BY i.id")
+    List<IssueDocument> findSearchDocuments(@Param("afterId") Long afterId, Limit limit);
 
-    @Query("SELECT i FROM Issue i ORDER BY i.reportedAt DESC")
-    List<Issue> findAllOrderByReportedAtDesc();
+    @Query("SELECT new com.civicseva.backend.repository.IssueSummary(" +
+           "i.id, i.issueId, i.title, i.status, i.category, i.priority, i.department, i.reportedAt, " +
+           "i.version, i.updatedAt) " +
+           "FROM Issue i WHERE i.id IN :ids")
+    List<IssueSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
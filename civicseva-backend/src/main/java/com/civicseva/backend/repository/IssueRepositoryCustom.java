@@ -0,0 +1,37 @@
+package com.civicseva.backend.repository;
+
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.pagination.Cursor;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface IssueRepositoryCustom {
+
+    /**
+     * Returns issues matching every criterion in {@code query}, ordered by
+     * (reportedAt, id) descending and starting strictly after {@code after}
+     * when it is non-null. A {@code limit} of zero or less means unbounded.
+     */
+    List<Issue> findPage(IssueQuery query, Cursor after, int limit);
+
+    /**
+     * Returns the (id, version, updatedAt) of exactly the rows {@link #findPage}
+     * would return for the same arguments, in the same order.
+     */
+    List<IssueVersion> findPageVersions(IssueQuery query, Cursor after, int limit);
+
+    /**
+     * Returns the list columns of exactly the rows {@link #findPage} would
+     * return for the same arguments, in the same order.
+     */
+    List<IssueSummary> findSummaryPage(IssueQuery query, Cursor after, int limit);
+
+    /**
+     * Streams every issue matching {@code query} in the same order as
+     * {@link #findPage}, reading {@code fetchSize} rows per round trip. The
+     * stream holds an open cursor, so it must be consumed and closed inside
+     * the surrounding transaction.
+     */
+    Stream<Issue> stream(IssueQuery query, int fetchSize);
+}
@@ -0,0 +1,169 @@
+package com.civicseva.backend.repository;
+
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.pagination.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria-API implementation of {@link IssueRepositoryCustom}. All filters
+ * are folded into a single statement whose shape matches one of the
+ * composite indexes declared on {@link Issue}.
+ */
+public class IssueRepositoryImpl implements IssueRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Issue> findPage(IssueQuery query, Cursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Issue> cq = cb.createQuery(Issue.class);
+        Root<Issue> issue = cq.from(Issue.class);
+
+        List<Predicate> predicates = predicates(cb, issue, query);
+        if (after != null) {
+            predicates.add(after(cb, issue, after));
+        }
+        cq.where(predicates.toArray(new Predicate[0]))
+          .orderBy(cb.desc(issue.get("reportedAt")), cb.desc(issue.get("id")));
+
+        TypedQuery<Issue> typed = entityManager.createQuery(cq);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    @Override
+    public List<IssueVersion> findPageVersions(IssueQuery query, Cursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueVersion> cq = cb.createQuery(IssueVersion.class);
+        Root<Issue> issue = cq.from(Issue.class);
+
+        List<Predicate> predicates = predicates(cb, issue, query);
+        if (after != null) {
+            predicates.add(after(cb, issue, after));
+        }
+        cq.select(cb.construct(IssueVersion.class, issue.get("id"), issue.get("version"), issue.get("updatedAt")))
+          .where(predicates.toArray(new Predicate[0]))
+          .orderBy(cb.desc(issue.get("reportedAt")), cb.desc(issue.get("id")));
+
+        TypedQuery<IssueVersion> typed = entityManager.createQuery(cq);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    @Override
+    public List<IssueSummary> findSummaryPage(IssueQuery query, Cursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IssueSummary> cq = cb.createQuery(IssueSummary.class);
+        Root<Issue> issue = cq.from(Issue.class);
+
+        List<Predicate> predicates = predicates(cb, issue, query);
+        if (after != null) {
+            predicates.add(after(cb, issue, after));
+        }
+        cq.select(cb.construct(IssueSummary.class,
+                    issue.get("id"), issue.get("issueId"), issue.get("title"), issue.get("status"),
+                    issue.get("category"), issue.get("priority"), issue.get("department"), issue.get("reportedAt"),
+                    issue.get("version"), issue.get("updatedAt")))
+          .where(predicates.toArray(new Predicate[0]))
+          .orderBy(cb.desc(issue.get("reportedAt")), cb.desc(issue.get("id")));
+
+        TypedQuery<IssueSummary> typed = entityManager.createQuery(cq);
+        if (limit > 0) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    @Override
+    public Stream<Issue> stream(IssueQuery query, int fetchSize) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Issue> cq = cb.createQuery(Issue.class);
+        Root<Issue> issue = cq.from(Issue.class);
+
+        cq.where(predicates(cb, issue, query).toArray(new Predicate[0]))
+          .orderBy(cb.desc(issue.get("reportedAt")), cb.desc(issue.get("id")));
+
+        // MySQL Connector/J honours the fetch size only with useCursorFetch=true on the connection
+        return entityManager.createQuery(cq)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private static List<Predicate> predicates(CriteriaBuilder cb, Root<Issue> issue, IssueQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (!query.getStatuses().isEmpty()) {
+            predicates.add(issue.get("status").in(query.getStatuses()));
+        }
+        if (!query.getCategories().isEmpty()) {
+            predicates.add(issue.get("category").in(query.getCategories()));
+        }
+        if (!query.getPriorities().isEmpty()) {
+            predicates.add(issue.get("priority").in(query.getPriorities()));
+        }
+        if (!query.getDepartments().isEmpty()) {
+            predicates.add(issue.get("department").in(query.getDepartments()));
+        }
+
+        Path<LocalDateTime> reportedAt = issue.get("reportedAt");
+        if (query.getReportedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(reportedAt, query.getReportedFrom()));
+        }
+        if (query.getReportedTo() != null) {
+            predicates.add(cb.lessThan(reportedAt, query.getReportedTo()));
+        }
+
+        Path<LocalDateTime> resolvedAt = issue.get("resolvedAt");
+        if (query.getResolvedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(resolvedAt, query.getResolvedFrom()));
+        }
+        if (query.getResolvedTo() != null) {
+            predicates.add(cb.lessThan(resolvedAt, query.getResolvedTo()));
+        }
+
+        Path<Double> latitude = issue.get("latitude");
+        Path<Double> longitude = issue.get("longitude");
+        if (query.getMinLatitude() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(latitude, query.getMinLatitude()));
+        }
+        if (query.getMaxLatitude() != null) {
+            predicates.add(cb.lessThanOrEqualTo(latitude, query.getMaxLatitude()));
+        }
+        if (query.getMinLongitude() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(longitude, query.getMinLongitude()));
+        }
+        if (query.getMaxLongitude() != null) {
+            predicates.add(cb.lessThanOrEqualTo(longitude, query.getMaxLongitude()));
+        }
+
+        return predicates;
+    }
+
+    private static Predicate after(CriteriaBuilder cb, Root<Issue> issue, Cursor cursor) {
+        Path<LocalDateTime> reportedAt = issue.get("reportedAt");
+        Path<Long> id = issue.get("id");
+        return cb.or(
+            cb.lessThan(reportedAt, cursor.getTimestamp()),
+            cb.and(cb.equal(reportedAt, cursor.getTimestamp()), cb.lessThan(id, cursor.getId()))
+        );
+    }
+}
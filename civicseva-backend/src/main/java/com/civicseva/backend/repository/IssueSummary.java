@@ -0,0 +1,53 @@
+package com.civicseva.backend.repository;
+
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a list view shows, loaded without the rest of the row and
+ * without touching the update and image tables.
+ */
+public final class IssueSummary {
+
+    private final Long id;
+    private final String issueId;
+    private final String title;
+    private final IssueStatus status;
+    private final IssueCategory category;
+    private final IssuePriority priority;
+    private final String department;
+    private final LocalDateTime reportedAt;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    // Used by JPQL and Criteria constructor expressions
+    public IssueSummary(Long id, String issueId, String title, IssueStatus status, IssueCategory category,
+                        IssuePriority priority, String department, LocalDateTime reportedAt,
+                        Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.issueId = issueId;
+        this.title = title;
+        this.status = status;
+        this.category = category;
+        this.priority = priority;
+        this.department = department;
+        this.reportedAt = reportedAt;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getIssueId() { return issueId; }
+    public String getTitle() { return title; }
+    public IssueStatus getStatus() { return status; }
+    public IssueCategory getCategory() { return category; }
+    public IssuePriority getPriority() { return priority; }
+    public String getDepartment() { return department; }
+    public LocalDateTime getReportedAt() { return reportedAt; }
+    public Long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
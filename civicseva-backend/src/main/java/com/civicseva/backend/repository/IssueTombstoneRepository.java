@@ -0,0 +1,22 @@
+package com.civicseva.backend.repository;
+
+import com.civicseva.backend.model.IssueTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface IssueTombstoneRepository extends JpaRepository<IssueTombstone, String> {
+
+    List<IssueTombstone> findByChangeSeqBetweenOrderByChangeSeqAsc(Long from, Long to, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM IssueTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
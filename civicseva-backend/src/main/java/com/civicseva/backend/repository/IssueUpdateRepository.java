@@ -1,13 +1,41 @@
 package com.civicseva.backend.repository;
 
 import com.civicseva.backend.model.IssueUpdate;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IssueUpdateRepository extends JpaRepository<IssueUpdate, Long> {
 
-    List<IssueUpdate> findByIssueIdOrderByTimestampDesc(Long issueId);
+    // Newest first; id breaks timestamp ties so keyset pages are stable
+    @Query("SELECT u FROM IssueUpdate u WHERE u.issue.id = :issueId ORDER BY u.timestamp DESC, u.id DESC")
+    List<IssueUpdate> findByIssueIdOrderByTimestampDesc(@Param("issueId") Long issueId, Limit limit);
+
+    @Query("SELECT u FROM IssueUpdate u WHERE u.issue.id = :issueId " +
+           "AND (u.timestamp < :timestamp OR (u.timestamp = :timestamp AND u.id < :id)) " +
+           "ORDER BY u.timestamp DESC, u.id DESC")
+    List<IssueUpdate> findByIssueIdBefore(@Param("issueId") Long issueId,
+                                          @Param("timestamp") LocalDateTime timestamp,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    @Query("SELECT u FROM IssueUpdate u WHERE u.issue.id IN :issueIds ORDER BY u.id")
+    List<IssueUpdate> findByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+
+    // The newest update of each issue by (timestamp, id), as in the timeline; pooled ids alone are not in time order.
+    // The NOT EXISTS probe is a seek on the (issue_id, timestamp, id) index
+    @Query("SELECT u FROM IssueUpdate u WHERE u.issue.id IN :issueIds AND NOT EXISTS " +
+           "(SELECT 1 FROM IssueUpdate n WHERE n.issue.id = u.issue.id " +
+           "AND (n.timestamp > u.timestamp OR (n.timestamp = u.timestamp AND n.id > u.id)))")
+    List<IssueUpdate> findLatestByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
+
+    @Query("SELECT u.issue.id, COUNT(u) FROM IssueUpdate u WHERE u.issue.id IN :issueIds GROUP BY u.issue.id")
+    List<Object[]> countByIssueIdIn(@Param("issueIds") Collection<Long> issueIds);
 }
@@ -0,0 +1,26 @@
+package com.civicseva.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns that identify one state of an issue, loaded without the rest of
+ * the row so conditional requests can be answered cheaply.
+ */
+public final class IssueVersion {
+
+    private final Long id;
+    private final Long version;
+    private final LocalDateTime updatedAt;
+
+    // Used by JPQL and Criteria constructor expressions
+    public IssueVersion(Long id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
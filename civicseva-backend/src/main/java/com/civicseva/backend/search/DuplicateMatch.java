@@ -0,0 +1,19 @@
+package com.civicseva.backend.search;
+
+/** An open issue that may describe the same problem as a new report. */
+public final class DuplicateMatch {
+
+    private final Long id;
+    private final double similarity;
+    private final double distanceKm;
+
+    public DuplicateMatch(Long id, double similarity, double distanceKm) {
+        this.id = id;
+        this.similarity = similarity;
+        this.distanceKm = distanceKm;
+    }
+
+    public Long getId() { return id; }
+    public double getSimilarity() { return similarity; }
+    public double getDistanceKm() { return distanceKm; }
+}
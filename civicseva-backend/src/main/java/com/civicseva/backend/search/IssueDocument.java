@@ -0,0 +1,56 @@
+package com.civicseva.backend.search;
+
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+
+import java.util.Objects;
+
+/**
+ * The searchable text of an issue and the attributes search results can be
+ * filtered on.
+ */
+public final class IssueDocument {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String address;
+    private final IssueStatus status;
+    private final IssueCategory category;
+    private final IssuePriority priority;
+
+    // Used by JPQL and Criteria constructor expressions
+    public IssueDocument(Long id, String title, String description, String address,
+                         IssueStatus status, IssueCategory category, IssuePriority priority) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.address = address;
+        this.status = status;
+        this.category = category;
+        this.priority = priority;
+    }
+
+    public static IssueDocument of(IssueSnapshot issue) {
+        return new IssueDocument(issue.getId(), issue.getTitle(), issue.getDescription(), issue.getAddress(),
+                issue.getStatus(), issue.getCategory(), issue.getPriority());
+    }
+
+    /** True when both documents index to the same terms. */
+    public boolean hasSameText(IssueDocument other) {
+        return Objects.equals(title, other.title)
+                && Objects.equals(description, other.description)
+                && Objects.equals(address, other.address);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getAddress() { return address; }
+    public IssueStatus getStatus() { return status; }
+    public IssueCategory getCategory() { return category; }
+    public IssuePriority getPriority() { return priority; }
+}
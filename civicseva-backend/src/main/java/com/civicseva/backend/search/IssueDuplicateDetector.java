@@ -0,0 +1,209 @@
+package com.civicseva.backend.search;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.spatial.IssueSpatialIndex;
+import com.civicseva.backend.spatial.Neighbor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Finds open issues that a new report probably duplicates: same category,
+ * within {@code civicseva.duplicates.radius-km} of it, reported within
+ * {@code civicseva.duplicates.window}, and with a similar enough title, or
+ * title and description together, by {@link MinHash}. Titles are compared on
+ * their own too because descriptions of the same problem often share little.
+ *
+ * <p>Candidates come from {@link IssueSpatialIndex}, and the signatures of
+ * open issues are kept in memory, so a check never touches the database.
+ * Like the other indexes, the signatures are rebuilt when the application is
+ * ready and kept in sync from committed {@link IssueChangeEvent}s; resolved
+ * issues are dropped. Events committed during a rebuild are replayed after
+ * its last batch, so a row it read earlier cannot overwrite them.
+ */
+@Component
+public class IssueDuplicateDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueDuplicateDetector.class);
+
+    private static final int REBUILD_BATCH = 5000;
+
+    @Value("${civicseva.duplicates.radius-km:0.25}")
+    private double radiusKm = 0.25;
+
+    @Value("${civicseva.duplicates.window:7d}")
+    private Duration window = Duration.ofDays(7);
+
+    @Value("${civicseva.duplicates.min-similarity:0.3}")
+    private double minSimilarity = 0.3;
+
+    @Value("${civicseva.duplicates.max-suggestions:5}")
+    private int maxSuggestions = 5;
+
+    @Autowired
+    private IssueSpatialIndex spatialIndex;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private final Map<Long, Signatures> signatures = new ConcurrentHashMap<>();
+
+    // A lock rather than synchronized: a virtual thread blocked on JDBC inside a monitor pins its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    // Guarded by rebuildLock: events committed while a rebuild runs; null otherwise
+    private List<IssueChangeEvent> pendingEvents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            signatures.clear();
+            pendingEvents = new ArrayList<>();
+        } finally {
+            rebuildLock.unlock();
+        }
+
+        try {
+            long afterId = Long.MIN_VALUE;
+            while (true) {
+                List<IssueDocument> batch = issueRepository.findSearchDocuments(afterId, Limit.of(REBUILD_BATCH));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (IssueDocument document : batch) {
+                    if (document.getStatus() != IssueStatus.RESOLVED) {
+                        put(document.getId(), document.getTitle(), document.getDescription());
+                    }
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            // Under the lock, so no event can be applied directly before the older ones are replayed
+            rebuildLock.lock();
+            try {
+                pendingEvents.forEach(this::apply);
+                pendingEvents = null;
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+        log.info("Duplicate detector built with {} open issues", signatures.size());
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        rebuildLock.lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+                return;
+            }
+        } finally {
+            rebuildLock.unlock();
+        }
+        apply(event);
+    }
+
+    private void apply(IssueChangeEvent event) {
+        IssueSnapshot after = event.getAfter();
+        if (after == null || after.getStatus() == IssueStatus.RESOLVED) {
+            signatures.remove(event.getCurrent().getId());
+            return;
+        }
+        IssueSnapshot before = event.getBefore();
+        boolean sameText = before != null && before.getStatus() != IssueStatus.RESOLVED
+                && IssueDocument.of(before).hasSameText(IssueDocument.of(after));
+        if (!sameText) {
+            put(after.getId(), after.getTitle(), after.getDescription());
+        }
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Returns the open issues a report with this text, category and location
+     * probably duplicates, most similar first.
+     */
+    public List<DuplicateMatch> findDuplicates(String title, String description, IssueCategory category,
+                                               double latitude, double longitude) {
+        Signatures signature = Signatures.of(title, description);
+        if (signature == null) {
+            return new ArrayList<>();
+        }
+        LocalDateTime since = LocalDateTime.now().minus(window);
+        List<Neighbor> candidates = spatialIndex.withinRadius(latitude, longitude, radiusKm, location ->
+                location.getCategory() == category
+                        && location.getStatus() != IssueStatus.RESOLVED
+                        && location.getReportedAt() != null
+                        && !location.getReportedAt().isBefore(since));
+
+        List<DuplicateMatch> matches = new ArrayList<>();
+        for (Neighbor candidate : candidates) {
+            Signatures other = signatures.get(candidate.getLocation().getId());
+            if (other == null) {
+                continue;
+            }
+            double similarity = signature.similarity(other);
+            if (similarity >= minSimilarity) {
+                matches.add(new DuplicateMatch(candidate.getLocation().getId(), similarity, candidate.getDistanceKm()));
+            }
+        }
+        // Candidates arrive nearest first, so equally similar matches stay in distance order
+        matches.sort(Comparator.comparingDouble(DuplicateMatch::getSimilarity).reversed());
+        return matches.size() > maxSuggestions ? new ArrayList<>(matches.subList(0, maxSuggestions)) : matches;
+    }
+
+    private void put(Long id, String title, String description) {
+        Signatures signature = Signatures.of(title, description);
+        if (signature != null) {
+            signatures.put(id, signature);
+        } else {
+            signatures.remove(id);
+        }
+    }
+
+    private static final class Signatures {
+
+        final int[] title;
+        final int[] text;
+
+        Signatures(int[] title, int[] text) {
+            this.title = title;
+            this.text = text;
+        }
+
+        static Signatures of(String title, String description) {
+            int[] text = MinHash.signature(title, description);
+            return text != null ? new Signatures(MinHash.signature(title), text) : null;
+        }
+
+        double similarity(Signatures other) {
+            double similarity = MinHash.similarity(text, other.text);
+            if (title != null && other.title != null) {
+                similarity = Math.max(similarity, MinHash.similarity(title, other.title));
+            }
+            return similarity;
+        }
+    }
+}
@@ -0,0 +1,615 @@
+package com.civicseva.backend.search;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory inverted index over issue titles, descriptions and addresses,
+ * ranked with BM25.
+ *
+ * <p>Each issue gets a document ordinal, assigned in increasing order, so
+ * every posting list is sorted and can be intersected with galloping search.
+ * A query matches issues containing every query term; a term ending in
+ * {@code *}, and the last term unless the query ends in a space, also
+ * matches terms it is a prefix of. Matching walks the rarest term's postings
+ * and probes the others, so the cost follows the rarest term rather than
+ * the index size. Title terms count {@value #TITLE_WEIGHT} times.
+ *
+ * <p>Re-indexing an issue whose text changed retires its old ordinal and
+ * appends a new one; retired ordinals are skipped and purged in bulk once
+ * they reach a quarter of the index. Status, category and priority changes
+ * update the filter attributes in place. Like {@code IssueSpatialIndex}, the
+ * index is rebuilt when the application is ready and kept in sync from
+ * committed {@link IssueChangeEvent}s. A rebuild reads in batches without
+ * holding the lock, so events committed meanwhile are held back and replayed
+ * after its last batch; a row read before such a commit cannot overwrite it.
+ */
+@Component
+public class IssueSearchIndex implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueSearchIndex.class);
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    static final int ADDRESS_WEIGHT = 1;
+    // Shorter prefixes only match whole terms
+    static final int MIN_PREFIX_LENGTH = 2;
+    // A completion ranks below the same match on the exact term
+    static final double PREFIX_BOOST = 0.8;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_BATCH = 5000;
+    private static final int MIN_PURGE = 1024;
+    private static final byte NO_PRIORITY = -1;
+
+    @Value("${civicseva.search.max-prefix-expansions:50}")
+    private int maxPrefixExpansions = 50;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final BitSet retired = new BitSet();
+    private long[] ids = new long[0];
+    private int[] lengths = new int[0];
+    private byte[] statuses = new byte[0];
+    private byte[] categories = new byte[0];
+    private byte[] priorities = new byte[0];
+    private int ordinalCount;
+    private int retiredCount;
+    private long totalLength;
+    // Events committed while a rebuild runs; null otherwise
+    private List<IssueChangeEvent> pendingEvents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        withWriteLock(() -> {
+            terms.clear();
+            ordinals.clear();
+            retired.clear();
+            ordinalCount = 0;
+            retiredCount = 0;
+            totalLength = 0;
+            pendingEvents = new ArrayList<>();
+            return null;
+        });
+
+        try {
+            // Keyset batches of a projection, so no entities pile up in a persistence context
+            long afterId = Long.MIN_VALUE;
+            while (true) {
+                List<IssueDocument> batch = issueRepository.findSearchDocuments(afterId, Limit.of(REBUILD_BATCH));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                List<Analyzed> analyzed = new ArrayList<>(batch.size());
+                batch.forEach(document -> analyzed.add(analyze(document)));
+                withWriteLock(() -> {
+                    analyzed.forEach(this::insert);
+                    return null;
+                });
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            // Under the write lock, so no event can be applied directly before the older ones are replayed
+            withWriteLock(() -> {
+                pendingEvents.forEach(this::apply);
+                pendingEvents = null;
+                return null;
+            });
+        }
+        log.info("Search index built with {} issues and {} terms", size(), termCount());
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        boolean deferred = withWriteLock(() -> pendingEvents != null && pendingEvents.add(event));
+        if (!deferred) {
+            apply(event);
+        }
+    }
+
+    private void apply(IssueChangeEvent event) {
+        if (event.getAfter() == null) {
+            remove(event.getBefore().getId());
+            return;
+        }
+        IssueDocument after = IssueDocument.of(event.getAfter());
+        boolean sameText = event.getBefore() != null && IssueDocument.of(event.getBefore()).hasSameText(after);
+        if (!sameText || !updateAttributes(after)) {
+            put(after);
+        }
+    }
+
+    public void put(IssueDocument document) {
+        Analyzed analyzed = analyze(document);
+        withWriteLock(() -> {
+            insert(analyzed);
+            purgeIfNeeded();
+            return null;
+        });
+    }
+
+    public void remove(Long id) {
+        withWriteLock(() -> {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                retire(ordinal);
+                purgeIfNeeded();
+            }
+            return null;
+        });
+    }
+
+    public int size() {
+        return withReadLock(ordinals::size);
+    }
+
+    public int termCount() {
+        return withReadLock(terms::size);
+    }
+
+    /**
+     * Returns the {@code limit} best matches for {@code text} among issues
+     * whose status, category and priority are in the given sets (an empty set
+     * allows any value), best first, with the total number of matches.
+     */
+    public SearchResults search(String text, Set<IssueStatus> statuses, Set<IssueCategory> categories,
+                                Set<IssuePriority> priorities, int limit) {
+        List<QueryTerm> queryTerms = parse(text);
+        if (queryTerms.isEmpty()) {
+            return SearchResults.EMPTY;
+        }
+        Filter filter = new Filter(statuses, categories, priorities);
+
+        lock.readLock().lock();
+        try {
+            int live = ordinals.size();
+            if (live == 0) {
+                return SearchResults.EMPTY;
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / live);
+
+            List<Term[]> groups = new ArrayList<>(queryTerms.size());
+            for (QueryTerm queryTerm : queryTerms) {
+                Term[] group = expand(queryTerm, live);
+                if (group.length == 0) {
+                    return SearchResults.EMPTY;
+                }
+                groups.add(group);
+            }
+            // Drive the walk from the rarest term and probe the others
+            groups.sort(Comparator.comparingLong(IssueSearchIndex::documentFrequency));
+            return collect(groups, filter, averageLength, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("civicseva.search.documents", this, IssueSearchIndex::size)
+                .description("Issues in the full-text search index")
+                .register(registry);
+        Gauge.builder("civicseva.search.terms", this, IssueSearchIndex::termCount)
+                .description("Distinct terms in the full-text search index")
+                .register(registry);
+    }
+
+    private SearchResults collect(List<Term[]> groups, Filter filter, double averageLength, int limit) {
+        Term[] lead = groups.get(0);
+        int[] leadPositions = new int[lead.length];
+        int[][] positions = new int[groups.size()][];
+        for (int g = 1; g < groups.size(); g++) {
+            positions[g] = new int[groups.get(g).length];
+        }
+
+        // Min-heap of the best hits so far; on equal scores the newer issue wins
+        PriorityQueue<long[]> best = new PriorityQueue<>(limit + 1, Comparator
+                .comparingDouble((long[] hit) -> Double.longBitsToDouble(hit[0]))
+                .thenComparingLong(hit -> hit[1]));
+        int total = 0;
+
+        while (true) {
+            int ordinal = Integer.MAX_VALUE;
+            for (int e = 0; e < lead.length; e++) {
+                Postings postings = lead[e].postings;
+                if (leadPositions[e] < postings.size) {
+                    ordinal = Math.min(ordinal, postings.docs[leadPositions[e]]);
+                }
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                break;
+            }
+
+            double score = 0;
+            for (int e = 0; e < lead.length; e++) {
+                Postings postings = lead[e].postings;
+                int position = leadPositions[e];
+                if (position < postings.size && postings.docs[position] == ordinal) {
+                    score = Math.max(score, lead[e].score(postings.freqs[position], lengths[ordinal], averageLength));
+                    leadPositions[e] = position + 1;
+                }
+            }
+            if (retired.get(ordinal) || !filter.accepts(statuses[ordinal], categories[ordinal], priorities[ordinal])) {
+                continue;
+            }
+
+            boolean matchesAll = true;
+            for (int g = 1; g < groups.size() && matchesAll; g++) {
+                double groupScore = probe(groups.get(g), positions[g], ordinal, averageLength);
+                matchesAll = groupScore >= 0;
+                score += groupScore;
+            }
+            if (!matchesAll) {
+                continue;
+            }
+
+            total++;
+            best.add(new long[] { Double.doubleToLongBits(score), ordinal });
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        SearchHit[] hits = new SearchHit[best.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            long[] hit = best.poll();
+            hits[i] = new SearchHit(ids[(int) hit[1]], Double.longBitsToDouble(hit[0]));
+        }
+        return new SearchResults(total, Arrays.asList(hits));
+    }
+
+    // Best score of any term in the group for the document, or -1 when none contains it
+    private double probe(Term[] group, int[] positions, int ordinal, double averageLength) {
+        double score = -1;
+        for (int e = 0; e < group.length; e++) {
+            Postings postings = group[e].postings;
+            int position = postings.advance(positions[e], ordinal);
+            positions[e] = position;
+            if (position < postings.size && postings.docs[position] == ordinal) {
+                score = Math.max(score, group[e].score(postings.freqs[position], lengths[ordinal], averageLength));
+            }
+        }
+        return score;
+    }
+
+    /** The exact term and, for a prefix, its most frequent completions. */
+    private Term[] expand(QueryTerm queryTerm, int live) {
+        List<Term> group = new ArrayList<>();
+        Postings exact = terms.get(queryTerm.text);
+        if (exact != null) {
+            group.add(new Term(exact, idf(exact.size, live), 1.0));
+        }
+        if (queryTerm.prefix) {
+            PriorityQueue<Postings> completions = new PriorityQueue<>(Comparator.comparingInt((Postings p) -> p.size));
+            for (Map.Entry<String, Postings> entry
+                    : terms.subMap(queryTerm.text, false, queryTerm.text + Character.MAX_VALUE, false).entrySet()) {
+                completions.add(entry.getValue());
+                if (completions.size() > maxPrefixExpansions) {
+                    completions.poll();
+                }
+            }
+            for (Postings postings : completions) {
+                group.add(new Term(postings, idf(postings.size, live), PREFIX_BOOST));
+            }
+        }
+        return group.toArray(new Term[0]);
+    }
+
+    private static long documentFrequency(Term[] group) {
+        long frequency = 0;
+        for (Term term : group) {
+            frequency += term.postings.size;
+        }
+        return frequency;
+    }
+
+    private static double idf(int postings, int documents) {
+        // Postings still hold retired ordinals until the next purge
+        int documentFrequency = Math.min(postings, documents);
+        return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    static List<QueryTerm> parse(String text) {
+        Map<String, QueryTerm> parsed = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        // A query still being typed ends mid-word
+        boolean typing = !Character.isWhitespace(text.charAt(text.length() - 1));
+        String[] words = text.trim().split("\\s+");
+        for (int w = 0; w < words.length; w++) {
+            boolean prefix = words[w].endsWith("*") || (typing && w == words.length - 1);
+            List<String> tokens = TextTokenizer.tokenize(words[w]);
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                boolean tokenPrefix = prefix && t == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH;
+                parsed.merge(token, new QueryTerm(token, tokenPrefix),
+                        (a, b) -> new QueryTerm(token, a.prefix || b.prefix));
+            }
+        }
+        return new ArrayList<>(parsed.values());
+    }
+
+    private static Analyzed analyze(IssueDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, document.getTitle(), TITLE_WEIGHT)
+                + addTerms(frequencies, document.getDescription(), DESCRIPTION_WEIGHT)
+                + addTerms(frequencies, document.getAddress(), ADDRESS_WEIGHT);
+        return new Analyzed(document, frequencies, length);
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private boolean updateAttributes(IssueDocument document) {
+        return withWriteLock(() -> {
+            Integer ordinal = ordinals.get(document.getId());
+            if (ordinal == null) {
+                return false;
+            }
+            setAttributes(ordinal, document);
+            return true;
+        });
+    }
+
+    private void insert(Analyzed analyzed) {
+        IssueDocument document = analyzed.document;
+        Integer previous = ordinals.get(document.getId());
+        if (previous != null) {
+            retire(previous);
+        }
+        int ordinal = ordinalCount++;
+        ensureCapacity(ordinalCount);
+        ids[ordinal] = document.getId();
+        lengths[ordinal] = analyzed.length;
+        setAttributes(ordinal, document);
+        ordinals.put(document.getId(), ordinal);
+        totalLength += analyzed.length;
+        analyzed.frequencies.forEach((term, frequency) ->
+                terms.computeIfAbsent(term, key -> new Postings()).add(ordinal, frequency));
+    }
+
+    private void setAttributes(int ordinal, IssueDocument document) {
+        statuses[ordinal] = (byte) document.getStatus().ordinal();
+        categories[ordinal] = (byte) document.getCategory().ordinal();
+        priorities[ordinal] = document.getPriority() != null ? (byte) document.getPriority().ordinal() : NO_PRIORITY;
+    }
+
+    private void retire(int ordinal) {
+        retired.set(ordinal);
+        retiredCount++;
+        totalLength -= lengths[ordinal];
+    }
+
+    /** Drops retired ordinals from every posting list once they make up a quarter of the index. */
+    private void purgeIfNeeded() {
+        if (retiredCount < MIN_PURGE || retiredCount * 4L < ordinalCount) {
+            return;
+        }
+        int[] remap = new int[ordinalCount];
+        int live = 0;
+        for (int ordinal = 0; ordinal < ordinalCount; ordinal++) {
+            if (retired.get(ordinal)) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            // Moving down in place keeps the order, so posting lists stay sorted
+            ids[live] = ids[ordinal];
+            lengths[live] = lengths[ordinal];
+            statuses[live] = statuses[ordinal];
+            categories[live] = categories[ordinal];
+            priorities[live] = priorities[ordinal];
+            remap[ordinal] = live++;
+        }
+        ordinals.replaceAll((id, ordinal) -> remap[ordinal]);
+        Iterator<Postings> postings = terms.values().iterator();
+        while (postings.hasNext()) {
+            Postings list = postings.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                postings.remove();
+            }
+        }
+        log.debug("Purged {} retired search documents", retiredCount);
+        retired.clear();
+        retiredCount = 0;
+        ordinalCount = live;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, Math.max(16, ids.length * 2));
+        ids = Arrays.copyOf(ids, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+        statuses = Arrays.copyOf(statuses, grown);
+        categories = Arrays.copyOf(categories, grown);
+        priorities = Arrays.copyOf(priorities, grown);
+    }
+
+    private <T> T withReadLock(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T withWriteLock(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ordinals containing one term, ascending, with the term's weighted frequency in each. */
+    static final class Postings {
+
+        int[] docs = new int[2];
+        short[] freqs = new short[2];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = (short) Math.min(frequency, Short.MAX_VALUE);
+            size++;
+        }
+
+        /** First position at or after {@code from} whose ordinal is at least {@code target}. */
+        int advance(int from, int target) {
+            if (from >= size || docs[from] >= target) {
+                return from;
+            }
+            // Gallop forward from docs[low] < target, then binary search the last step
+            int low = from;
+            int step = 1;
+            int high = low + step;
+            while (high < size && docs[high] < target) {
+                low = high;
+                step <<= 1;
+                high = low + step;
+            }
+            int found = Arrays.binarySearch(docs, low + 1, Math.min(high, size), target);
+            return found >= 0 ? found : -found - 1;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(2, size));
+                freqs = Arrays.copyOf(freqs, Math.max(2, size));
+            }
+        }
+    }
+
+    private static final class Term {
+
+        final Postings postings;
+        final double idf;
+        final double boost;
+
+        Term(Postings postings, double idf, double boost) {
+            this.postings = postings;
+            this.idf = idf;
+            this.boost = boost;
+        }
+
+        double score(int frequency, int length, double averageLength) {
+            double norm = K1 * (1 - B + B * length / averageLength);
+            return boost * idf * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+
+    static final class QueryTerm {
+
+        final String text;
+        final boolean prefix;
+
+        QueryTerm(String text, boolean prefix) {
+            this.text = text;
+            this.prefix = prefix;
+        }
+    }
+
+    private static final class Analyzed {
+
+        final IssueDocument document;
+        final Map<String, Integer> frequencies;
+        final int length;
+
+        Analyzed(IssueDocument document, Map<String, Integer> frequencies, int length) {
+            this.document = document;
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+    }
+
+    private static final class Filter {
+
+        private final int statusMask;
+        private final int categoryMask;
+        private final int priorityMask;
+
+        Filter(Set<IssueStatus> statuses, Set<IssueCategory> categories, Set<IssuePriority> priorities) {
+            this.statusMask = mask(statuses);
+            this.categoryMask = mask(categories);
+            this.priorityMask = mask(priorities);
+        }
+
+        boolean accepts(byte status, byte category, byte priority) {
+            return allows(statusMask, status) && allows(categoryMask, category) && allows(priorityMask, priority);
+        }
+
+        // An empty mask allows anything; a missing value only passes an empty mask
+        private static boolean allows(int mask, byte value) {
+            return mask == 0 || (value >= 0 && (mask & (1 << value)) != 0);
+        }
+
+        private static int mask(Set<? extends Enum<?>> values) {
+            int mask = 0;
+            for (Enum<?> value : values) {
+                mask |= 1 << value.ordinal();
+            }
+            return mask;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.civicseva.backend.search;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * MinHash signatures over character trigrams of the tokenized text. The
+ * share of equal slots in two signatures estimates the Jaccard similarity of
+ * their trigram sets, so "potholes on Main Street" and "pothole, main st"
+ * still come out close. Each slot uses its own seed with a 64-bit mix of the
+ * trigram hash, which is cheap enough to sign an issue in microseconds.
+ */
+final class MinHash {
+
+    static final int SIZE = 64;
+    private static final int SHINGLE_LENGTH = 3;
+    private static final long[] SEEDS = new long[SIZE];
+
+    static {
+        long seed = 0x2545F4914F6CDD1DL;
+        for (int i = 0; i < SIZE; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private MinHash() {}
+
+    /** Returns the signature of the texts, or null when they hold no terms. */
+    static int[] signature(String... texts) {
+        Set<String> shingles = new HashSet<>();
+        for (String text : texts) {
+            addShingles(shingles, TextTokenizer.tokenize(text));
+        }
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long hash = shingle.hashCode();
+            for (int i = 0; i < SIZE; i++) {
+                int value = (int) (mix(hash ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /** Estimated Jaccard similarity of the shingle sets behind two signatures. */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    // Trigrams within each term, so word order and separators do not matter; shorter terms count whole
+    private static void addShingles(Set<String> shingles, List<String> tokens) {
+        for (String token : tokens) {
+            if (token.length() <= SHINGLE_LENGTH) {
+                shingles.add(token);
+                continue;
+            }
+            for (int i = 0; i + SHINGLE_LENGTH <= token.length(); i++) {
+                shingles.add(token.substring(i, i + SHINGLE_LENGTH));
+            }
+        }
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,16 @@
+package com.civicseva.backend.search;
+
+/** An issue matching a text query and its relevance score. */
+public final class SearchHit {
+
+    private final Long id;
+    private final double score;
+
+    public SearchHit(Long id, double score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+    public double getScore() { return score; }
+}
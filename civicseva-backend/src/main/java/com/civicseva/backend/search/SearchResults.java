@@ -0,0 +1,20 @@
+package com.civicseva.backend.search;
+
+import java.util.List;
+
+/** The best-scoring hits of a query, and how many issues matched in total. */
+public final class SearchResults {
+
+    static final SearchResults EMPTY = new SearchResults(0, List.of());
+
+    private final int total;
+    private final List<SearchHit> hits;
+
+    public SearchResults(int total, List<SearchHit> hits) {
+        this.total = total;
+        this.hits = hits;
+    }
+
+    public int getTotal() { return total; }
+    public List<SearchHit> getHits() { return hits; }
+}
@@ -0,0 +1,60 @@
+package com.civicseva.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits free text into index terms: accents are folded, text is lower-cased
+ * and cut at every character that is not a letter or digit, and single
+ * characters and stop words are dropped.
+ */
+public final class TextTokenizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Common English words plus the prepositions people use to describe a location ("light near Main St")
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "been", "but", "by", "for", "from", "has", "have", "in",
+            "into", "is", "it", "its", "of", "on", "or", "that", "the", "their", "there", "this", "to",
+            "was", "were", "with", "near", "around", "next", "outside");
+
+    private TextTokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(tokens, folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isStopWord(String token) {
+        return STOP_WORDS.contains(token);
+    }
+
+    private static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static void addToken(List<String> tokens, String token) {
+        if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+}
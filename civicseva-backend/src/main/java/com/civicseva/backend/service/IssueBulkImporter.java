@@ -0,0 +1,161 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.BulkIssueResultDto;
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams a bulk upload of {@link CreateIssueDto} records, either
+ * newline-delimited or wrapped in a single JSON array, into the database in
+ * fixed-size batches. Each record gets one NDJSON result line, written as
+ * soon as its batch commits, so memory use is bounded by the batch size
+ * rather than the upload size.
+ */
+@Component
+public class IssueBulkImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueBulkImporter.class);
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${civicseva.bulk.batch-size:500}")
+    private int batchSize;
+
+    @PostConstruct
+    void checkBatchSize() {
+        if (batchSize < 1) {
+            throw new IllegalStateException("civicseva.bulk.batch-size must be positive");
+        }
+    }
+
+    public void importIssues(InputStream in, OutputStream out) throws IOException {
+        // Results for the current window in input order; null marks a record awaiting its batch
+        List<BulkIssueResultDto> window = new ArrayList<>(batchSize);
+        List<CreateIssueDto> batch = new ArrayList<>(batchSize);
+
+        try (MappingIterator<CreateIssueDto> records = objectMapper.readerFor(CreateIssueDto.class).readValues(in);
+             SequenceWriter results = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+
+            int index = 0;
+            boolean malformed = false;
+            while (!malformed) {
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    CreateIssueDto record = records.nextValue();
+                    Map<String, String> errors = validate(record);
+                    if (errors.isEmpty()) {
+                        batch.add(record);
+                        window.add(null);
+                    } else {
+                        window.add(BulkIssueResultDto.failed(index, errors));
+                    }
+                } catch (JsonParseException e) {
+                    // Malformed JSON leaves no reliable record boundary to resume from
+                    window.add(BulkIssueResultDto.failed(index, Map.of("record", "Malformed JSON: " + e.getOriginalMessage())));
+                    malformed = true;
+                } catch (JsonMappingException e) {
+                    // Well-formed but does not bind; the iterator skips past it
+                    window.add(BulkIssueResultDto.failed(index, Map.of("record", "Invalid record: " + e.getOriginalMessage())));
+                }
+                index++;
+
+                if (window.size() == batchSize) {
+                    persist(window, batch, index - window.size(), results);
+                    out.flush();
+                }
+            }
+
+            persist(window, batch, index - window.size(), results);
+        }
+    }
+
+    /**
+     * Saves the buffered batch in one transaction, then writes the result of
+     * every record in the window, whose first record has index {@code firstIndex}.
+     */
+    private void persist(List<BulkIssueResultDto> window, List<CreateIssueDto> batch, int firstIndex,
+                         SequenceWriter results) throws IOException {
+        List<String> issueIds = List.of();
+        Map<String, String> batchErrors = null;
+        if (!batch.isEmpty()) {
+            try {
+                issueIds = issueService.createIssues(batch);
+            } catch (RuntimeException e) {
+                // The whole batch rolled back together, so report it together and go on with the next one
+                log.warn("Bulk batch of {} issues failed", batch.size(), e);
+                Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+                String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                batchErrors = Map.of("record", "Batch failed: " + message);
+            }
+        }
+
+        int saved = 0;
+        for (int i = 0; i < window.size(); i++) {
+            BulkIssueResultDto result = window.get(i);
+            if (result == null) {
+                result = batchErrors == null
+                        ? BulkIssueResultDto.created(firstIndex + i, issueIds.get(saved++))
+                        : BulkIssueResultDto.failed(firstIndex + i, batchErrors);
+            }
+            results.write(result);
+        }
+        window.clear();
+        batch.clear();
+    }
+
+    private Map<String, String> validate(CreateIssueDto record) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<CreateIssueDto> violation : validator.validate(record)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+
+        // Enum lookups would otherwise fail inside the batch and roll back every record with it
+        if (record.getCategory() != null && !errors.containsKey("category")) {
+            try {
+                IssueCategory.fromDisplayName(record.getCategory());
+            } catch (IllegalArgumentException e) {
+                errors.put("category", e.getMessage());
+            }
+        }
+        if (record.getPriority() != null) {
+            try {
+                IssuePriority.fromDisplayName(record.getPriority());
+            } catch (IllegalArgumentException e) {
+                errors.put("priority", e.getMessage());
+            }
+        }
+        return errors;
+    }
+}
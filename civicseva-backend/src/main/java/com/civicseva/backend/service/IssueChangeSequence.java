@@ -0,0 +1,220 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueTombstone;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Numbers every issue write for delta sync, in commit order, from the
+ * {@code issue_change_seq} counter row in the {@code id_blocks} table.
+ *
+ * <p>A writer only registers the rows it changed. Just before its
+ * transaction commits, they are flushed, the counter is advanced by their
+ * number, and their {@code change_seq} columns are set to the values taken,
+ * so the counter's row lock is held only while the transaction commits.
+ * The counter and the numbered rows become visible in the same commit, and
+ * the next writer cannot take a number until then. Every change numbered up
+ * to the committed counter value is therefore visible, on any instance and
+ * any database, and {@link #committedThrough()} is the bound a delta reader
+ * may advance to without skipping a later commit.
+ *
+ * <p>The column is set with plain updates rather than through the entities,
+ * so numbering does not bump an issue's version after the caller has read
+ * it.
+ */
+@Component
+public class IssueChangeSequence {
+
+    static final String COUNTER_NAME = "issue_change_seq";
+
+    private static final String ADVANCE_SQL = "UPDATE id_blocks SET next_value = next_value + ? WHERE name = ?";
+    private static final String SELECT_SQL = "SELECT next_value FROM id_blocks WHERE name = ?";
+    private static final String INSERT_SQL = "INSERT INTO id_blocks (name, next_value) VALUES (?, ?)";
+    // Continues above numbers given out before the counter existed
+    private static final String LAST_ISSUE_SQL = "SELECT COALESCE(MAX(change_seq), 0) FROM issues";
+    private static final String LAST_TOMBSTONE_SQL = "SELECT COALESCE(MAX(change_seq), 0) FROM issue_tombstones";
+    private static final String NUMBER_ISSUE_SQL = "UPDATE issues SET change_seq = ? WHERE id = ?";
+    private static final String NUMBER_TOMBSTONE_SQL = "UPDATE issue_tombstones SET change_seq = ? WHERE issue_id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @PostConstruct
+    void init() {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (readCounter(connection) == null) {
+                    createCounter(connection);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            // Another instance may have created the counter first
+            if (!counterExists()) {
+                throw new DataAccessResourceFailureException("Could not create the issue change counter", e);
+            }
+        }
+    }
+
+    /** Gives the issue the next change number when the caller's transaction commits. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void number(Issue issue) {
+        pendingChanges().issues.add(issue);
+    }
+
+    /** Gives the tombstone the next change number when the caller's transaction commits. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void number(IssueTombstone tombstone) {
+        pendingChanges().tombstones.add(tombstone);
+    }
+
+    /**
+     * Returns the highest change number given out so far. Every change up to
+     * it is committed, and any later commit gets a higher number.
+     */
+    public long committedThrough() {
+        // COMMIT flush mode: the caller's pending changes are numbered at commit, not here
+        List<?> values = entityManager.createNativeQuery(SELECT_SQL)
+                .setParameter(1, COUNTER_NAME)
+                .setFlushMode(FlushModeType.COMMIT)
+                .getResultList();
+        return values.isEmpty() ? 0 : ((Number) values.get(0)).longValue() - 1;
+    }
+
+    private PendingChanges pendingChanges() {
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private void assign(PendingChanges pending) {
+        int count = pending.issues.size() + pending.tombstones.size();
+        if (count == 0) {
+            return;
+        }
+        try {
+            // Inserts have to reach the database before their rows can be numbered
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            DataAccessException translated = EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            long next = advanceCounter(connection, count);
+            try (PreparedStatement update = connection.prepareStatement(NUMBER_ISSUE_SQL)) {
+                for (Issue issue : pending.issues) {
+                    update.setLong(1, next++);
+                    update.setLong(2, issue.getId());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+            try (PreparedStatement update = connection.prepareStatement(NUMBER_TOMBSTONE_SQL)) {
+                for (IssueTombstone tombstone : pending.tombstones) {
+                    update.setLong(1, next++);
+                    update.setString(2, tombstone.getIssueId());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        });
+    }
+
+    // Returns the first of `count` numbers taken; the row lock is held until the caller commits
+    private static long advanceCounter(Connection connection, int count) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(ADVANCE_SQL)) {
+            update.setLong(1, count);
+            update.setString(2, COUNTER_NAME);
+            if (update.executeUpdate() == 0) {
+                throw new IllegalStateException("Issue change counter " + COUNTER_NAME + " is missing");
+            }
+        }
+        return readCounter(connection) - count;
+    }
+
+    private static Long readCounter(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+            select.setString(1, COUNTER_NAME);
+            try (ResultSet result = select.executeQuery()) {
+                return result.next() ? result.getLong(1) : null;
+            }
+        }
+    }
+
+    private static void createCounter(Connection connection) throws SQLException {
+        long last = Math.max(selectLong(connection, LAST_ISSUE_SQL), selectLong(connection, LAST_TOMBSTONE_SQL));
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            insert.setString(1, COUNTER_NAME);
+            insert.setLong(2, last + 1);
+            insert.executeUpdate();
+        }
+    }
+
+    private static long selectLong(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(sql);
+             ResultSet result = select.executeQuery()) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private boolean counterExists() {
+        try (Connection connection = dataSource.getConnection()) {
+            return readCounter(connection) != null;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // The rows one transaction wrote, numbered as it commits
+    private final class PendingChanges implements TransactionSynchronization {
+
+        // Identity sets: a row written twice in one transaction takes one number
+        final Set<Issue> issues = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<IssueTombstone> tombstones = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            assign(this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(IssueChangeSequence.this);
+        }
+    }
+}
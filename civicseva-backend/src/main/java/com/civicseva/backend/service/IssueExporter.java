@@ -0,0 +1,235 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.IssueFilterDto;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.repository.IssueQuery;
+import com.civicseva.backend.repository.IssueRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes every issue matching a filter straight from a forward-only database
+ * cursor to the response. Each row is detached once written, so heap use
+ * stays flat regardless of how many rows are exported. Only the issue's own
+ * columns are exported; updates and images are left out.
+ *
+ * <p>The driver must honour the fetch size for that to hold. MySQL
+ * Connector/J ignores it and reads the whole result into memory unless the
+ * JDBC URL sets {@code useCursorFetch=true}; a MySQL URL without it is
+ * reported at startup.
+ */
+@Component
+public class IssueExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueExporter.class);
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format fromParameter(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: " + value);
+            }
+        }
+    }
+
+    private static final String[] COLUMNS = {
+        "id", "title", "description", "status", "category", "priority", "department",
+        "latitude", "longitude", "address", "reportedAt", "resolvedAt", "confidence", "eta", "imageUrl"
+    };
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${civicseva.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    private TransactionTemplate readTransaction;
+
+    @PostConstruct
+    void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        if (datasourceUrl.startsWith("jdbc:mysql:") && !datasourceUrl.contains("useCursorFetch=true")) {
+            log.warn("spring.datasource.url does not set useCursorFetch=true; MySQL Connector/J will buffer "
+                    + "each export in memory instead of fetching {} rows at a time", fetchSize);
+        }
+    }
+
+    /**
+     * Validates the filter up front, while an error can still become a 400,
+     * and returns a body that runs the export in its own read-only
+     * transaction on the async thread that writes the response.
+     */
+    public StreamingResponseBody export(IssueFilterDto filter, Format format) {
+        IssueQuery query = issueService.toQuery(filter);
+        return out -> readTransaction.executeWithoutResult(status -> {
+            try (Stream<Issue> issues = issueRepository.stream(query, fetchSize)) {
+                if (format == Format.CSV) {
+                    writeCsv(issues.iterator(), out);
+                } else {
+                    writeNdjson(issues.iterator(), out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Iterator<Issue> issues, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        json.setRootValueSeparator(null);
+        // Send headers and the first byte without waiting for the first batch
+        out.flush();
+
+        int written = 0;
+        while (issues.hasNext()) {
+            Issue issue = issues.next();
+            json.writeStartObject();
+            json.writeStringField("id", issue.getIssueId());
+            json.writeStringField("title", issue.getTitle());
+            json.writeStringField("description", issue.getDescription());
+            json.writeStringField("status", issue.getStatus().getDisplayName());
+            json.writeStringField("category", issue.getCategory().getDisplayName());
+            json.writeStringField("priority", issue.getPriority() != null ? issue.getPriority().getDisplayName() : null);
+            json.writeStringField("department", issue.getDepartment());
+            writeNumberField(json, "latitude", issue.getLatitude());
+            writeNumberField(json, "longitude", issue.getLongitude());
+            json.writeStringField("address", issue.getAddress());
+            json.writeStringField("reportedAt", toText(issue.getReportedAt()));
+            json.writeStringField("resolvedAt", toText(issue.getResolvedAt()));
+            writeNumberField(json, "confidence", issue.getConfidence());
+            json.writeStringField("eta", toText(issue.getEta()));
+            json.writeStringField("imageUrl", issue.getImageUrl());
+            json.writeEndObject();
+            json.writeRaw('\n');
+            entityManager.detach(issue);
+            if (++written % fetchSize == 0) {
+                json.flush();
+            }
+        }
+        json.flush();
+    }
+
+    private static void writeNumberField(JsonGenerator json, String name, Double value) throws IOException {
+        if (value != null) {
+            json.writeNumberField(name, value);
+        } else {
+            json.writeNullField(name);
+        }
+    }
+
+    private void writeCsv(Iterator<Issue> issues, OutputStream out) throws IOException {
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(csv, COLUMNS);
+        csv.flush();
+
+        int written = 0;
+        while (issues.hasNext()) {
+            Issue issue = issues.next();
+            writeCsvLine(csv, row(issue));
+            entityManager.detach(issue);
+            if (++written % fetchSize == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+    }
+
+    private static void writeCsvLine(Writer csv, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                csv.write(',');
+            }
+            csv.write(csvField(values[i]));
+        }
+        csv.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String[] row(Issue issue) {
+        return new String[] {
+            issue.getIssueId(),
+            issue.getTitle(),
+            issue.getDescription(),
+            issue.getStatus().getDisplayName(),
+            issue.getCategory().getDisplayName(),
+            issue.getPriority() != null ? issue.getPriority().getDisplayName() : null,
+            issue.getDepartment(),
+            toText(issue.getLatitude()),
+            toText(issue.getLongitude()),
+            issue.getAddress(),
+            toText(issue.getReportedAt()),
+            toText(issue.getResolvedAt()),
+            toText(issue.getConfidence()),
+            toText(issue.getEta()),
+            issue.getImageUrl()
+        };
+    }
+
+    private static String toText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.civicseva.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out public issue ids ({@code IS-<n>}) from blocks drawn from the
+ * {@code issue_id_seq} database sequence, or from the {@code id_blocks}
+ * table on a database without sequences, such as MySQL.
+ *
+ * <p>Each node draws {@value #BLOCK_SIZE} consecutive numbers at a time with
+ * one {@code nextval} or counter update. Within a block, ids come from an {@link AtomicLong},
+ * so threads do not contend. Drawn numbers are never reused: a restart or a
+ * second instance always draws a fresh block, and unused numbers from an
+ * abandoned block are simply skipped.
+ *
+ * <p>{@code nextval} takes no lock and is not rolled back, so it runs on the
+ * caller's own connection, inside whatever transaction the caller has open.
+ * A create therefore never needs a second pool connection while holding its
+ * first, which under load could leave every connection held by a caller
+ * waiting for another one.
+ *
+ * <p>A table counter cannot work that way: its row lock would be held until
+ * the caller commits, and a rollback would hand the block out again while
+ * other threads are already using it. There a block is drawn and committed
+ * on a connection of its own, the way Hibernate draws table-backed entity
+ * ids on the same database, so the pool needs a spare connection for the
+ * short refill.
+ */
+@Component
+public class IssueIdAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueIdAllocator.class);
+
+    static final String SEQUENCE_NAME = "issue_id_seq";
+    // Must match the sequence in schema-h2.sql, which starts above the legacy random ids IS-10000..IS-99999
+    static final long INITIAL_VALUE = 100000;
+    static final int BLOCK_SIZE = 100;
+    private static final String PREFIX = "IS-";
+
+    private static final String UPDATE_BLOCK_SQL = "UPDATE id_blocks SET next_value = next_value + ? WHERE name = ?";
+    private static final String SELECT_BLOCK_SQL = "SELECT next_value FROM id_blocks WHERE name = ?";
+    private static final String INSERT_BLOCK_SQL = "INSERT INTO id_blocks (name, next_value) VALUES (?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ReentrantLock reserveLock = new ReentrantLock();
+    // Null when the database has no sequences and blocks come from id_blocks
+    private String nextBlockSql;
+    private volatile Block current = Block.EMPTY;
+
+    @PostConstruct
+    void init() {
+        SequenceSupport sequences = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport();
+        nextBlockSql = sequences.supportsSequences() ? sequences.getSequenceNextValString(SEQUENCE_NAME) : null;
+    }
+
+    public String nextIssueId() {
+        return PREFIX + nextValue();
+    }
+
+    long nextValue() {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            // A lock rather than synchronized: a virtual thread blocked on JDBC inside a monitor pins its carrier
+            reserveLock.lock();
+            try {
+                if (current == block) {
+                    current = reserveBlock();
+                }
+            } finally {
+                reserveLock.unlock();
+            }
+        }
+    }
+
+    /** Drops the local block, as a restart would. */
+    void discardBlock() {
+        current = Block.EMPTY;
+    }
+
+    private Block reserveBlock() {
+        long start = nextBlockSql != null ? nextFromSequence() : nextFromTable();
+        log.debug("Reserved issue id block [{}, {})", start, start + BLOCK_SIZE);
+        return new Block(start, start + BLOCK_SIZE);
+    }
+
+    // COMMIT flush mode: a native query would otherwise flush the caller's pending changes here, under the lock
+    private long nextFromSequence() {
+        return ((Number) entityManager.createNativeQuery(nextBlockSql)
+                .setFlushMode(FlushModeType.COMMIT)
+                .getSingleResult()).longValue();
+    }
+
+    // A connection of its own, committed before any id from the block is used
+    private long nextFromTable() {
+        for (int attempt = 0; ; attempt++) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    Long start = advanceCounter(connection);
+                    if (start == null) {
+                        start = createCounter(connection);
+                    }
+                    connection.commit();
+                    return start;
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                // The first draw may race another instance creating the counter row; the retry advances it
+                if (attempt > 0) {
+                    throw new DataAccessResourceFailureException("Could not reserve an issue id block", e);
+                }
+            }
+        }
+    }
+
+    // Returns the first value of the block just taken, or null when the counter row does not exist yet
+    private static Long advanceCounter(Connection connection) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_BLOCK_SQL)) {
+            update.setLong(1, BLOCK_SIZE);
+            update.setString(2, SEQUENCE_NAME);
+            if (update.executeUpdate() == 0) {
+                return null;
+            }
+        }
+        try (PreparedStatement select = connection.prepareStatement(SELECT_BLOCK_SQL)) {
+            select.setString(1, SEQUENCE_NAME);
+            try (ResultSet result = select.executeQuery()) {
+                result.next();
+                return result.getLong(1) - BLOCK_SIZE;
+            }
+        }
+    }
+
+    private static long createCounter(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_BLOCK_SQL)) {
+            insert.setString(1, SEQUENCE_NAME);
+            insert.setLong(2, INITIAL_VALUE + BLOCK_SIZE);
+            insert.executeUpdate();
+        }
+        return INITIAL_VALUE;
+    }
+
+    private static final class Block {
+
+        static final Block EMPTY = new Block(0, 0);
+
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
@@ -1,70 +1,484 @@
 package com.civicseva.backend.service;
 
+import com.civicseva.backend.cache.IssueCache;
 import com.civicseva.backend.dto.*;
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueImageAddedEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.exception.ChangeTokenExpiredException;
+import com.civicseva.backend.exception.ConcurrentUpdateException;
+import com.civicseva.backend.exception.PreconditionFailedException;
 import com.civicseva.backend.model.*;
+import com.civicseva.backend.pagination.ChangeToken;
+import com.civicseva.backend.pagination.Cursor;
+import com.civicseva.backend.repository.IssueImageRepository;
+import com.civicseva.backend.repository.IssueQuery;
 import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.repository.IssueSummary;
+import com.civicseva.backend.repository.IssueTombstoneRepository;
+import com.civicseva.backend.repository.IssueUpdateRepository;
+import com.civicseva.backend.repository.IssueVersion;
+import com.civicseva.backend.search.DuplicateMatch;
+import com.civicseva.backend.search.IssueDuplicateDetector;
+import com.civicseva.backend.search.IssueSearchIndex;
+import com.civicseva.backend.search.SearchHit;
+import com.civicseva.backend.search.SearchResults;
+import com.civicseva.backend.spatial.IssueSpatialIndex;
+import com.civicseva.backend.statistics.IssueStatistics;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "civicseva.issue.service", histogram = true)
 public class IssueService {
 
+    public static final int DEFAULT_PAGE_LIMIT = 50;
+    public static final int MAX_PAGE_LIMIT = 200;
+    public static final int DEFAULT_NEAREST_K = 20;
+    public static final int MAX_NEAREST_K = 200;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    // Upper bound on ids bound into a single IN (...) clause
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
     @Autowired
     private IssueRepository issueRepository;
 
-    public List<IssueDto> getAllIssues() {
-        return issueRepository.findAllOrderByReportedAtDesc()
-                .stream()
-                .map(this::convertToDto)
+    @Autowired
+    private IssueUpdateRepository issueUpdateRepository;
+
+    @Autowired
+    private IssueImageRepository issueImageRepository;
+
+    @Autowired
+    private IssueTombstoneRepository issueTombstoneRepository;
+
+    @Autowired
+    private IssueIdAllocator issueIdAllocator;
+
+    @Autowired
+    private IssueChangeSequence changeSequence;
+
+    @Autowired
+    private IssueTombstonePruner tombstonePruner;
+
+    @Autowired
+    private IssueSpatialIndex spatialIndex;
+
+    @Autowired
+    private IssueSearchIndex searchIndex;
+
+    @Autowired
+    private IssueDuplicateDetector duplicateDetector;
+
+    @Autowired
+    private IssueStatistics issueStatistics;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Attempts for an unconditional write that keeps losing optimistic lock races
+    @Value("${civicseva.write.max-attempts:5}")
+    private int maxWriteAttempts;
+
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    void init() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Returns one keyset page of issues matching every filter, ordered by
+     * (reportedAt, id) descending.
+     */
+    public CursorPageDto<IssueDto> getIssuesPage(IssueFilterDto filter, String cursor, int limit) {
+        return getIssuesPage(filter, cursor, limit, IssueView.FULL);
+    }
+
+    /**
+     * As {@link #getIssuesPage(IssueFilterDto, String, int)}, in the full or
+     * compact view; summaries come from {@link #getIssueSummariesPage}.
+     */
+    public CursorPageDto<IssueDto> getIssuesPage(IssueFilterDto filter, String cursor, int limit, IssueView view) {
+        return getVersionedIssuesPage(filter, cursor, limit, view).getBody();
+    }
+
+    /**
+     * As {@link #getIssuesPage(IssueFilterDto, String, int, IssueView)}, with
+     * the validators {@link #getIssuesPageVersion} would return, taken from
+     * the rows just loaded.
+     */
+    public Versioned<CursorPageDto<IssueDto>> getVersionedIssuesPage(IssueFilterDto filter, String cursor, int limit,
+                                                                     IssueView view) {
+        checkPageLimit(limit);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        // Fetch one extra row to learn whether another page exists
+        List<Issue> issues = issueRepository.findPage(toQuery(filter), after, limit + 1);
+        ResourceVersion version = versionOfIssues(issues);
+
+        String nextCursor = null;
+        if (issues.size() > limit) {
+            issues = issues.subList(0, limit);
+            Issue last = issues.get(limit - 1);
+            nextCursor = new Cursor(last.getReportedAt(), last.getId()).encode();
+        }
+        return new Versioned<>(new CursorPageDto<>(convertAllToDto(issues, view), nextCursor), version);
+    }
+
+    /**
+     * Returns the same page as {@link #getIssuesPage} with only the list
+     * columns, read by a constructor projection that loads no updates or
+     * images.
+     */
+    public CursorPageDto<IssueSummaryDto> getIssueSummariesPage(IssueFilterDto filter, String cursor, int limit) {
+        return getVersionedIssueSummariesPage(filter, cursor, limit).getBody();
+    }
+
+    /** As {@link #getIssueSummariesPage}, with the validators of the rows just loaded. */
+    public Versioned<CursorPageDto<IssueSummaryDto>> getVersionedIssueSummariesPage(IssueFilterDto filter,
+                                                                                    String cursor, int limit) {
+        checkPageLimit(limit);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+
+        List<IssueSummary> summaries = issueRepository.findSummaryPage(toQuery(filter), after, limit + 1);
+        ResourceVersion version = versionOfSummaries(summaries);
+
+        String nextCursor = null;
+        if (summaries.size() > limit) {
+            summaries = summaries.subList(0, limit);
+            IssueSummary last = summaries.get(limit - 1);
+            nextCursor = new Cursor(last.getReportedAt(), last.getId()).encode();
+        }
+        return new Versioned<>(new CursorPageDto<>(toSummaryDtos(summaries), nextCursor), version);
+    }
+
+    /** Returns the list columns of every issue matching the filters, without paging. */
+    public List<IssueSummaryDto> searchIssueSummaries(IssueFilterDto filter) {
+        return searchVersionedIssueSummaries(filter).getBody();
+    }
+
+    /** As {@link #searchIssueSummaries}, with the validators of the rows just loaded. */
+    public Versioned<List<IssueSummaryDto>> searchVersionedIssueSummaries(IssueFilterDto filter) {
+        List<IssueSummary> summaries = issueRepository.findSummaryPage(toQuery(filter), null, 0);
+        return new Versioned<>(toSummaryDtos(summaries), versionOfSummaries(summaries));
+    }
+
+    /**
+     * Returns validators for the page {@link #getIssuesPage} would return,
+     * reading only the (id, updatedAt) pairs of its rows. Only needed to
+     * answer a conditional request before loading the page.
+     */
+    public ResourceVersion getIssuesPageVersion(IssueFilterDto filter, String cursor, int limit) {
+        checkPageLimit(limit);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+        return ResourceVersion.of(issueRepository.findPageVersions(toQuery(filter), after, limit + 1));
+    }
+
+    /** Returns validators for the list {@link #searchIssues} would return. */
+    public ResourceVersion getIssuesVersion(IssueFilterDto filter) {
+        return ResourceVersion.of(issueRepository.findPageVersions(toQuery(filter), null, 0));
+    }
+
+    /** Returns every issue matching the filters, without paging. */
+    public List<IssueDto> searchIssues(IssueFilterDto filter) {
+        return searchIssues(filter, IssueView.FULL);
+    }
+
+    public List<IssueDto> searchIssues(IssueFilterDto filter, IssueView view) {
+        return searchVersionedIssues(filter, view).getBody();
+    }
+
+    /** As {@link #searchIssues(IssueFilterDto, IssueView)}, with the validators of the rows just loaded. */
+    public Versioned<List<IssueDto>> searchVersionedIssues(IssueFilterDto filter, IssueView view) {
+        List<Issue> issues = issueRepository.findPage(toQuery(filter), null, 0);
+        return new Versioned<>(convertAllToDto(issues, view), versionOfIssues(issues));
+    }
+
+    // Same rows and order as findPageVersions reads, so the tags match the ones computed up front
+    private static ResourceVersion versionOfIssues(List<Issue> issues) {
+        return ResourceVersion.of(issues.stream()
+                .map(issue -> new IssueVersion(issue.getId(), issue.getVersion(), issue.getUpdatedAt()))
+                .collect(Collectors.toList()));
+    }
+
+    private static ResourceVersion versionOfSummaries(List<IssueSummary> summaries) {
+        return ResourceVersion.of(summaries.stream()
+                .map(summary -> new IssueVersion(summary.getId(), summary.getVersion(), summary.getUpdatedAt()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the issues written and deleted after {@code since}, oldest
+     * change first, reading only rows through the change sequence index.
+     * Without a token every live issue is returned. Follow {@code nextToken}
+     * while {@code hasMore} is set; once caught up it stays valid for the
+     * next poll for {@code civicseva.changes.tombstone-retention}, after which
+     * the client has to sync again from scratch.
+     */
+    @Transactional(readOnly = true)
+    public IssueChangesDto getChanges(String since, int limit) {
+        checkPageLimit(limit);
+        LocalDateTime now = LocalDateTime.now();
+        ChangeToken token = since != null ? ChangeToken.decode(since) : new ChangeToken(0, now);
+        if (token.getSyncedAt().isBefore(tombstonePruner.horizon())) {
+            throw new ChangeTokenExpiredException(
+                "Change token is older than the deletion history; sync again without since");
+        }
+        long after = token.getSequence();
+
+        // Read the counter first: every change up to it has committed, so none can appear behind the token later
+        long committed = changeSequence.committedThrough();
+        if (after >= committed) {
+            return new IssueChangesDto(new ArrayList<>(), new ArrayList<>(), new ChangeToken(after, now).encode(), false);
+        }
+
+        // Fetch one extra row of each kind to learn whether more changes remain
+        List<Issue> issues = issueRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(
+                after + 1, committed, Limit.of(limit + 1));
+        List<IssueTombstone> tombstones = issueTombstoneRepository.findByChangeSeqBetweenOrderByChangeSeqAsc(
+                after + 1, committed, Limit.of(limit + 1));
+
+        // Keep the lowest `limit` sequence numbers across both kinds
+        List<Long> sequences = new ArrayList<>(issues.size() + tombstones.size());
+        issues.forEach(issue -> sequences.add(issue.getChangeSeq()));
+        tombstones.forEach(tombstone -> sequences.add(tombstone.getChangeSeq()));
+        sequences.sort(Comparator.naturalOrder());
+
+        boolean hasMore = sequences.size() > limit;
+        long last = hasMore ? sequences.get(limit - 1) : committed;
+
+        List<Issue> changed = issues.stream()
+                .filter(issue -> issue.getChangeSeq() <= last)
+                .collect(Collectors.toList());
+        List<DeletedIssueDto> deleted = tombstones.stream()
+                .filter(tombstone -> tombstone.getChangeSeq() <= last)
+                .map(tombstone -> new DeletedIssueDto(tombstone.getIssueId(), tombstone.getDeletedAt()))
                 .collect(Collectors.toList());
+        // A caught-up copy is current as of this read; a partial one only as of when the client's sync began
+        ChangeToken next = new ChangeToken(last, hasMore ? token.getSyncedAt() : now);
+        return new IssueChangesDto(convertAllToDto(changed), deleted, next.encode(), hasMore);
+    }
+
+    /**
+     * Full-text search over title, description and address, best match
+     * first, restricted to the given statuses, categories and priorities
+     * when those are non-empty. Only the returned hits are read from the
+     * database.
+     */
+    @Transactional(readOnly = true)
+    public IssueSearchResultDto<Object> searchIssuesByText(String query, List<String> status, List<String> category,
+                                                           List<String> priority, int limit, IssueView view) {
+        checkPageLimit(limit);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        SearchResults results = searchIndex.search(query,
+                toSet(status, IssueStatus::fromDisplayName),
+                toSet(category, IssueCategory::fromDisplayName),
+                toSet(priority, IssuePriority::fromDisplayName),
+                limit);
+        List<Long> ids = results.getHits().stream().map(SearchHit::getId).collect(Collectors.toList());
+
+        Map<Long, Object> issuesById = new HashMap<>();
+        if (view == IssueView.SUMMARY) {
+            issueRepository.findSummariesByIdIn(ids)
+                    .forEach(summary -> issuesById.put(summary.getId(), toSummaryDto(summary)));
+        } else {
+            List<Issue> issues = findAllByIdInOrder(ids);
+            List<IssueDto> dtos = convertAllToDto(issues, view);
+            for (int i = 0; i < issues.size(); i++) {
+                issuesById.put(issues.get(i).getId(), dtos.get(i));
+            }
+        }
+
+        // Hits whose issue was deleted since the lookup are skipped
+        List<IssueSearchHitDto<Object>> hits = new ArrayList<>(ids.size());
+        for (SearchHit hit : results.getHits()) {
+            Object issue = issuesById.get(hit.getId());
+            if (issue != null) {
+                hits.add(new IssueSearchHitDto<>(hit.getScore(), issue));
+            }
+        }
+        return new IssueSearchResultDto<>(results.getTotal(), hits);
     }
 
+    // Served from IssueCache; hits need no transaction or connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<IssueDto> getIssueById(String issueId) {
-        return issueRepository.findByIssueId(issueId)
-                .map(this::convertToDto);
+        return issueCache.getIssue(issueId, id -> issueRepository.findByIssueId(id)
+                .map(issue -> convertAllToDto(List.of(issue)).get(0)));
     }
 
-    public List<IssueDto> getIssuesByStatus(String status) {
-        IssueStatus issueStatus = IssueStatus.fromDisplayName(status);
-        return issueRepository.findByStatus(issueStatus)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /** The full view comes from {@link #getIssueById(String)}; other views are built from the row. */
+    @Transactional(readOnly = true)
+    public Optional<IssueDto> getIssueById(String issueId, IssueView view) {
+        if (view == IssueView.FULL) {
+            return getIssueById(issueId);
+        }
+        return issueRepository.findByIssueId(issueId).map(issue -> convertAllToDto(List.of(issue), view).get(0));
     }
 
-    public List<IssueDto> getIssuesByCategory(String category) {
-        IssueCategory issueCategory = IssueCategory.fromDisplayName(category);
-        return issueRepository.findByCategory(issueCategory)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /**
+     * Returns one keyset page of an issue's updates, newest first, or empty
+     * when the issue does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDto<IssueUpdateDto>> getIssueUpdates(String issueId, String cursor, int limit) {
+        checkPageLimit(limit);
+        Cursor before = cursor != null ? Cursor.decode(cursor) : null;
+        return findIssueKey(issueId).map(id -> {
+            List<IssueUpdate> updates = before == null
+                    ? issueUpdateRepository.findByIssueIdOrderByTimestampDesc(id, Limit.of(limit + 1))
+                    : issueUpdateRepository.findByIssueIdBefore(id, before.getTimestamp(), before.getId(), Limit.of(limit + 1));
+            return toPage(updates, limit, update -> new Cursor(update.getTimestamp(), update.getId()), IssueService::toUpdateDto);
+        });
     }
 
-    public List<IssueDto> getIssuesByDepartment(String department) {
-        return issueRepository.findByDepartment(department)
+    /**
+     * Returns one keyset page of an issue's images, oldest first, or empty
+     * when the issue does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDto<IssueImageDto>> getIssueImages(String issueId, String cursor, int limit) {
+        checkPageLimit(limit);
+        Cursor after = cursor != null ? Cursor.decode(cursor) : null;
+        return findIssueKey(issueId).map(id -> {
+            List<IssueImage> images = after == null
+                    ? issueImageRepository.findByIssueIdOrderByCreatedAtAsc(id, Limit.of(limit + 1))
+                    : issueImageRepository.findByIssueIdAfter(id, after.getTimestamp(), after.getId(), Limit.of(limit + 1));
+            return toPage(images, limit, image -> new Cursor(image.getCreatedAt(), image.getId()), IssueService::toImageDto);
+        });
+    }
+
+    // Primary key of an issue, from the version cache when possible
+    private Optional<Long> findIssueKey(String issueId) {
+        return issueCache.getVersion(issueId, issueRepository::findVersionByIssueId).map(IssueVersion::getId);
+    }
+
+    // Rows were fetched with one extra to learn whether another page exists
+    private static <T, D> CursorPageDto<D> toPage(List<T> rows, int limit, Function<T, Cursor> position,
+                                                  Function<T, D> converter) {
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = position.apply(rows.get(limit - 1)).encode();
+        }
+        return new CursorPageDto<>(rows.stream().map(converter).collect(Collectors.toList()), nextCursor);
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ResourceVersion> getIssueVersion(String issueId) {
+        return issueCache.getVersion(issueId, issueRepository::findVersionByIssueId)
+                .map(ResourceVersion::of);
+    }
+
+    public List<IssueDto> getIssuesNearLocation(Double latitude, Double longitude, Double radiusKm) {
+        List<Long> ids = spatialIndex.withinRadius(latitude, longitude, radiusKm, location -> true)
                 .stream()
-                .map(this::convertToDto)
+                .map(neighbor -> neighbor.getLocation().getId())
                 .collect(Collectors.toList());
+        return convertAllToDto(findAllByIdInOrder(ids));
     }
 
-    public List<IssueDto> getIssuesNearLocation(Double latitude, Double longitude, Double radiusKm) {
-        // Convert radius from km to degrees (rough approximation)
-        Double radiusSquared = Math.pow(radiusKm / 111.0, 2);
-        return issueRepository.findIssuesNearLocation(latitude, longitude, radiusSquared)
+    public List<IssueDto> getNearestIssues(Double latitude, Double longitude, int k, String status) {
+        if (k < 1 || k > MAX_NEAREST_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST_K);
+        }
+        IssueStatus issueStatus = status != null ? IssueStatus.fromDisplayName(status) : null;
+
+        List<Long> ids = spatialIndex.nearest(latitude, longitude, k,
+                        location -> issueStatus == null || location.getStatus() == issueStatus)
                 .stream()
-                .map(this::convertToDto)
+                .map(neighbor -> neighbor.getLocation().getId())
                 .collect(Collectors.toList());
+        return convertAllToDto(findAllByIdInOrder(ids));
     }
 
+    /**
+     * Creates an issue and lists the open issues it may duplicate (same
+     * category, nearby, recent, similar text). The check runs against
+     * in-memory indexes; only when it finds matches is one query spent on
+     * their summaries.
+     */
     public IssueDto createIssue(CreateIssueDto createIssueDto) {
+        Issue issue = newIssue(createIssueDto);
+        List<DuplicateMatch> duplicates = duplicateDetector.findDuplicates(issue.getTitle(), issue.getDescription(),
+                issue.getCategory(), issue.getLatitude(), issue.getLongitude());
+        changeSequence.number(issue);
+        Issue savedIssue = issueRepository.save(issue);
+        eventPublisher.publishEvent(IssueChangeEvent.created(IssueSnapshot.of(savedIssue)));
+
+        IssueDto dto = convertToDto(savedIssue);
+        dto.setPossibleDuplicates(toPossibleDuplicateDtos(duplicates));
+        return dto;
+    }
+
+    /**
+     * Persists one batch of already-validated issues in a single transaction
+     * and returns their public ids in input order. The persistence context is
+     * cleared afterwards so a long bulk upload does not accumulate entities.
+     */
+    public List<String> createIssues(List<CreateIssueDto> createIssueDtos) {
+        List<Issue> issues = new ArrayList<>(createIssueDtos.size());
+        for (CreateIssueDto createIssueDto : createIssueDtos) {
+            issues.add(newIssue(createIssueDto));
+        }
+        issues.forEach(changeSequence::number);
+
+        List<Issue> savedIssues = issueRepository.saveAll(issues);
+        issueRepository.flush();
+
+        List<String> issueIds = new ArrayList<>(savedIssues.size());
+        for (Issue savedIssue : savedIssues) {
+            eventPublisher.publishEvent(IssueChangeEvent.created(IssueSnapshot.of(savedIssue)));
+            issueIds.add(savedIssue.getIssueId());
+        }
+        entityManager.clear();
+        return issueIds;
+    }
+
+    private Issue newIssue(CreateIssueDto createIssueDto) {
         Issue issue = new Issue();
+        issue.setIssueId(issueIdAllocator.nextIssueId());
         issue.setTitle(createIssueDto.getTitle());
         issue.setDescription(createIssueDto.getDescription());
         issue.setImageUrl(createIssueDto.getImageUrl());
@@ -103,18 +517,19 @@ public class IssueService {
                 issue
             );
             issue.addImage(initialImage);
+            eventPublisher.publishEvent(new IssueImageAddedEvent(issue.getIssueId(), initialImage.getUrl()));
         }
-
-        Issue savedIssue = issueRepository.save(issue);
-        return convertToDto(savedIssue);
+        return issue;
     }
 
-    public Optional<IssueDto> updateIssue(String issueId, CreateIssueDto updateDto) {
-        Optional<Issue> issueOpt = issueRepository.findByIssueId(issueId);
-
-        if (issueOpt.isPresent()) {
-            Issue issue = issueOpt.get();
-
+    /**
+     * Replaces an issue's details. With a non-null {@code ifMatch} the write
+     * only happens if the issue still has that entity tag; without one,
+     * conflicting concurrent writes are retried against the fresh row.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<IssueDto> updateIssue(String issueId, CreateIssueDto updateDto, String ifMatch) {
+        return modifyIssue(issueId, ifMatch, IssueChangeEvent.Type.UPDATED, issue -> {
             // Only allow updates for issues with REPORTED status
             if (issue.getStatus() != IssueStatus.REPORTED) {
                 throw new IllegalStateException("Can only edit issues with 'Reported' status.");
@@ -141,6 +556,7 @@ public class IssueService {
                     IssueImage beforeImage = new IssueImage(updateDto.getImageUrl(), "Before", issue);
                     issue.addImage(beforeImage);
                 }
+                eventPublisher.publishEvent(new IssueImageAddedEvent(issue.getIssueId(), updateDto.getImageUrl()));
             }
 
             // Add update entry
@@ -150,21 +566,15 @@ public class IssueService {
                 issue
             );
             issue.addUpdate(update);
-
-            Issue savedIssue = issueRepository.save(issue);
-            return Optional.of(convertToDto(savedIssue));
-        }
-
-        return Optional.empty();
+        });
     }
 
-    public Optional<IssueDto> updateIssueStatus(String issueId, String status, String comments, String afterPhotoUrl) {
-        Optional<Issue> issueOpt = issueRepository.findByIssueId(issueId);
-
-        if (issueOpt.isPresent()) {
-            Issue issue = issueOpt.get();
-            IssueStatus newStatus = IssueStatus.fromDisplayName(status);
-
+    /** Changes an issue's status; {@code ifMatch} behaves as in {@link #updateIssue}. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<IssueDto> updateIssueStatus(String issueId, String status, String comments,
+                                                String afterPhotoUrl, String ifMatch) {
+        IssueStatus newStatus = IssueStatus.fromDisplayName(status);
+        return modifyIssue(issueId, ifMatch, IssueChangeEvent.Type.STATUS_CHANGED, issue -> {
             issue.setStatus(newStatus);
 
             if (newStatus == IssueStatus.RESOLVED) {
@@ -175,25 +585,20 @@ public class IssueService {
             if (afterPhotoUrl != null && !afterPhotoUrl.isEmpty()) {
                 IssueImage afterImage = new IssueImage(afterPhotoUrl, "After", issue);
                 issue.addImage(afterImage);
+                eventPublisher.publishEvent(new IssueImageAddedEvent(issue.getIssueId(), afterPhotoUrl));
             }
 
             // Add status update
             String description = comments != null ? comments : "Status updated to " + status;
             IssueUpdate update = new IssueUpdate(newStatus, description, issue);
             issue.addUpdate(update);
-
-            Issue savedIssue = issueRepository.save(issue);
-            return Optional.of(convertToDto(savedIssue));
-        }
-
-        return Optional.empty();
+        });
     }
 
-    public Optional<IssueDto> assignIssueToDepartment(String issueId, String department) {
-        Optional<Issue> issueOpt = issueRepository.findByIssueId(issueId);
-
-        if (issueOpt.isPresent()) {
-            Issue issue = issueOpt.get();
+    /** Assigns an issue to a department; {@code ifMatch} behaves as in {@link #updateIssue}. */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<IssueDto> assignIssueToDepartment(String issueId, String department, String ifMatch) {
+        return modifyIssue(issueId, ifMatch, IssueChangeEvent.Type.ASSIGNED, issue -> {
             issue.setDepartment(department);
 
             if (issue.getStatus() == IssueStatus.REPORTED) {
@@ -206,30 +611,251 @@ public class IssueService {
                 issue
             );
             issue.addUpdate(update);
+        });
+    }
+
+    /**
+     * Applies {@code change} to the issue in a transaction of its own. The
+     * version column turns a concurrent write into an optimistic lock failure
+     * at flush. A conditional write then fails with 412; an unconditional one
+     * is re-read and re-applied, which is safe because every change here
+     * sets fields and appends an update rather than deriving from old values.
+     */
+    private Optional<IssueDto> modifyIssue(String issueId, String ifMatch, IssueChangeEvent.Type type,
+                                           Consumer<Issue> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writeTransaction.execute(status -> {
+                    Optional<Issue> issueOpt = issueRepository.findByIssueId(issueId);
+                    if (issueOpt.isEmpty()) {
+                        return Optional.<IssueDto>empty();
+                    }
+
+                    Issue issue = issueOpt.get();
+                    if (ifMatch != null && !ResourceVersion.matches(ifMatch, issue.getVersion())) {
+                        throw new PreconditionFailedException("Issue " + issueId + " has been modified");
+                    }
 
-            Issue savedIssue = issueRepository.save(issue);
-            return Optional.of(convertToDto(savedIssue));
+                    IssueSnapshot before = IssueSnapshot.of(issue);
+                    change.accept(issue);
+                    changeSequence.number(issue);
+                    // Flush here so a version conflict surfaces before the DTO is built
+                    Issue savedIssue = issueRepository.saveAndFlush(issue);
+                    eventPublisher.publishEvent(new IssueChangeEvent(type, before, IssueSnapshot.of(savedIssue)));
+                    return Optional.of(convertToDto(savedIssue));
+                });
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                // Only a version conflict means the tagged state is gone; a lock timeout is retried like any race
+                if (ifMatch != null && e instanceof OptimisticLockingFailureException) {
+                    throw new PreconditionFailedException("Issue " + issueId + " has been modified");
+                }
+                if (attempt >= maxWriteAttempts) {
+                    throw new ConcurrentUpdateException(
+                        "Issue " + issueId + " is being modified concurrently, please retry", e);
+                }
+                backOff(attempt, e);
+            }
         }
+    }
 
-        return Optional.empty();
+    // Randomized exponential back-off so retrying writers do not collide again in lockstep
+    private static void backOff(int attempt, RuntimeException cause) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 5L << Math.min(attempt, 6)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException("Interrupted while retrying a concurrent update", cause);
+        }
     }
 
     public void deleteIssue(String issueId) {
-        issueRepository.findByIssueId(issueId).ifPresent(issueRepository::delete);
+        issueRepository.findByIssueId(issueId).ifPresent(issue -> {
+            IssueSnapshot before = IssueSnapshot.of(issue);
+            issueRepository.delete(issue);
+            IssueTombstone tombstone = issueTombstoneRepository.save(new IssueTombstone(issue.getIssueId()));
+            changeSequence.number(tombstone);
+            eventPublisher.publishEvent(IssueChangeEvent.deleted(before));
+        });
     }
 
-    // Statistics methods
-    public Long getIssueCountByStatus(String status) {
-        IssueStatus issueStatus = IssueStatus.fromDisplayName(status);
-        return issueRepository.countByStatus(issueStatus);
+    public IssueStatisticsDto getStatistics() {
+        return issueStatistics.snapshot();
     }
 
-    public Long getIssueCountByCategory(String category) {
-        IssueCategory issueCategory = IssueCategory.fromDisplayName(category);
-        return issueRepository.countByCategory(issueCategory);
+    private static void checkPageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_LIMIT);
+        }
     }
 
-    private IssueDto convertToDto(Issue issue) {
+    IssueQuery toQuery(IssueFilterDto filter) {
+        IssueQuery query = new IssueQuery();
+        if (filter == null) {
+            return query;
+        }
+        query.setStatuses(toSet(filter.getStatus(), IssueStatus::fromDisplayName));
+        query.setCategories(toSet(filter.getCategory(), IssueCategory::fromDisplayName));
+        query.setPriorities(toSet(filter.getPriority(), IssuePriority::fromDisplayName));
+        query.setDepartments(toSet(filter.getDepartment(), department -> department));
+        query.setReportedFrom(filter.getReportedFrom());
+        query.setReportedTo(filter.getReportedTo());
+        query.setResolvedFrom(filter.getResolvedFrom());
+        query.setResolvedTo(filter.getResolvedTo());
+        query.setMinLatitude(filter.getMinLatitude());
+        query.setMaxLatitude(filter.getMaxLatitude());
+        query.setMinLongitude(filter.getMinLongitude());
+        query.setMaxLongitude(filter.getMaxLongitude());
+        return query;
+    }
+
+    private static <T> Set<T> toSet(List<String> values, Function<String, T> parser) {
+        if (values == null || values.isEmpty()) {
+            return Set.of();
+        }
+        return values.stream().map(parser).collect(Collectors.toSet());
+    }
+
+    /**
+     * Loads issues by primary key, preserving the order of {@code ids} and
+     * skipping any that no longer exist.
+     */
+    private List<Issue> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Issue> byId = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            issueRepository.findAllById(chunk).forEach(issue -> byId.put(issue.getId(), issue));
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(issue -> issue != null)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts a list of issues loading their updates and images with one
+     * IN (...) query per child table, instead of two lazy loads per issue.
+     */
+    private List<IssueDto> convertAllToDto(List<Issue> issues) {
+        if (issues.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, List<IssueUpdate>> updatesByIssue = new HashMap<>();
+        Map<Long, List<IssueImage>> imagesByIssue = new HashMap<>();
+        List<Long> ids = issues.stream().map(Issue::getId).collect(Collectors.toList());
+
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            for (IssueUpdate update : issueUpdateRepository.findByIssueIdIn(chunk)) {
+                updatesByIssue.computeIfAbsent(update.getIssue().getId(), k -> new ArrayList<>()).add(update);
+            }
+            for (IssueImage image : issueImageRepository.findByIssueIdIn(chunk)) {
+                imagesByIssue.computeIfAbsent(image.getIssue().getId(), k -> new ArrayList<>()).add(image);
+            }
+        }
+
+        return issues.stream()
+                .map(issue -> convertToDto(issue,
+                        updatesByIssue.getOrDefault(issue.getId(), Collections.emptyList()),
+                        imagesByIssue.getOrDefault(issue.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    private List<IssueDto> convertAllToDto(List<Issue> issues, IssueView view) {
+        return switch (view) {
+            case FULL -> convertAllToDto(issues);
+            case COMPACT -> convertAllToCompactDto(issues);
+            // Summaries are projected in the query, not converted from entities
+            case SUMMARY -> throw new IllegalArgumentException("The summary view has no issue DTO form");
+        };
+    }
+
+    private static List<IssueSummaryDto> toSummaryDtos(List<IssueSummary> summaries) {
+        return summaries.stream()
+                .map(IssueService::toSummaryDto)
+                .collect(Collectors.toList());
+    }
+
+    private List<PossibleDuplicateDto> toPossibleDuplicateDtos(List<DuplicateMatch> duplicates) {
+        if (duplicates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, IssueSummary> summaries = issueRepository.findSummariesByIdIn(
+                        duplicates.stream().map(DuplicateMatch::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(IssueSummary::getId, Function.identity()));
+
+        // Matches deleted since the check are skipped
+        List<PossibleDuplicateDto> dtos = new ArrayList<>(duplicates.size());
+        for (DuplicateMatch duplicate : duplicates) {
+            IssueSummary summary = summaries.get(duplicate.getId());
+            if (summary != null) {
+                dtos.add(new PossibleDuplicateDto(duplicate.getSimilarity(), duplicate.getDistanceKm(),
+                        toSummaryDto(summary)));
+            }
+        }
+        return dtos;
+    }
+
+    private static IssueSummaryDto toSummaryDto(IssueSummary summary) {
+        IssueSummaryDto dto = new IssueSummaryDto();
+        dto.setId(summary.getIssueId());
+        dto.setTitle(summary.getTitle());
+        dto.setStatus(summary.getStatus().getDisplayName());
+        dto.setCategory(summary.getCategory().getDisplayName());
+        dto.setPriority(summary.getPriority() != null ? summary.getPriority().getDisplayName() : null);
+        dto.setDepartment(summary.getDepartment());
+        dto.setReportedAt(summary.getReportedAt());
+        return dto;
+    }
+
+    /**
+     * Converts a list of issues to the compact view with three queries per
+     * chunk: the latest update of each issue, and the update and image
+     * counts. No history rows beyond one update per issue are read.
+     */
+    private List<IssueDto> convertAllToCompactDto(List<Issue> issues) {
+        if (issues.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, IssueUpdate> latestByIssue = new HashMap<>();
+        Map<Long, Long> updateCounts = new HashMap<>();
+        Map<Long, Long> imageCounts = new HashMap<>();
+        List<Long> ids = issues.stream().map(Issue::getId).collect(Collectors.toList());
+
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+            for (IssueUpdate update : issueUpdateRepository.findLatestByIssueIdIn(chunk)) {
+                latestByIssue.put(update.getIssue().getId(), update);
+            }
+            for (Object[] row : issueUpdateRepository.countByIssueIdIn(chunk)) {
+                updateCounts.put((Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : issueImageRepository.countByIssueIdIn(chunk)) {
+                imageCounts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+
+        return issues.stream()
+                .map(issue -> {
+                    IssueDto dto = convertToDto(issue, Collections.emptyList(), Collections.emptyList());
+                    dto.setUpdates(null);
+                    dto.setImages(null);
+                    IssueUpdate latest = latestByIssue.get(issue.getId());
+                    dto.setLatestUpdate(latest != null ? toUpdateDto(latest) : null);
+                    dto.setUpdateCount(updateCounts.getOrDefault(issue.getId(), 0L));
+                    dto.setImageCount(imageCounts.getOrDefault(issue.getId(), 0L));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    IssueDto convertToDto(Issue issue) {
+        return convertToDto(issue, issue.getUpdates(), issue.getImages());
+    }
+
+    private IssueDto convertToDto(Issue issue, List<IssueUpdate> issueUpdates, List<IssueImage> issueImages) {
         IssueDto dto = new IssueDto();
         dto.setId(issue.getIssueId());
         dto.setTitle(issue.getTitle());
@@ -252,17 +878,26 @@ public class IssueService {
         dto.setDepartment(issue.getDepartment());
         dto.setConfidence(issue.getConfidence());
         dto.setEta(issue.getEta());
+        dto.setVersion(issue.getVersion());
 
-        List<IssueUpdateDto> updates = issue.getUpdates().stream()
-                .map(update -> new IssueUpdateDto(update.getTimestamp(), update.getStatus(), update.getDescription()))
+        List<IssueUpdateDto> updates = issueUpdates.stream()
+                .map(IssueService::toUpdateDto)
                 .collect(Collectors.toList());
         dto.setUpdates(updates);
 
-        List<IssueImageDto> images = issue.getImages().stream()
-                .map(image -> new IssueImageDto(image.getUrl(), image.getCaption()))
+        List<IssueImageDto> images = issueImages.stream()
+                .map(IssueService::toImageDto)
                 .collect(Collectors.toList());
         dto.setImages(images);
 
         return dto;
     }
+
+    private static IssueUpdateDto toUpdateDto(IssueUpdate update) {
+        return new IssueUpdateDto(update.getTimestamp(), update.getStatus(), update.getDescription());
+    }
+
+    private static IssueImageDto toImageDto(IssueImage image) {
+        return IssueImageDto.of(image.getUrl(), image.getCaption());
+    }
 }
@@ -0,0 +1,53 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.repository.IssueTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Keeps deletion history for {@code civicseva.changes.tombstone-retention}
+ * and deletes older tombstones, so the history does not grow forever.
+ *
+ * <p>A delta-sync token whose copy was last brought up to date before the
+ * retention {@link #horizon()} could miss pruned deletions, so
+ * {@link IssueService#getChanges} rejects it and the client syncs again from
+ * scratch.
+ */
+@Component
+public class IssueTombstonePruner {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueTombstonePruner.class);
+
+    // Tombstones outlive the tokens that need them by this much, so a delete still in flight when a token was issued is kept
+    private static final Duration GRACE = Duration.ofDays(1);
+
+    @Value("${civicseva.changes.tombstone-retention:30d}")
+    private Duration retention;
+
+    @Autowired
+    private IssueTombstoneRepository issueTombstoneRepository;
+
+    /** Tokens synced before this time may have missed pruned deletions. */
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().minus(retention);
+    }
+
+    @Scheduled(fixedDelayString = "${civicseva.changes.tombstone-prune-interval:PT1H}",
+               initialDelayString = "${civicseva.changes.tombstone-prune-interval:PT1H}")
+    @Transactional
+    public void prune() {
+        LocalDateTime cutoff = horizon().minus(GRACE);
+        int deleted = issueTombstoneRepository.deleteDeletedBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Pruned {} tombstones deleted before {}", deleted, cutoff);
+        }
+    }
+}
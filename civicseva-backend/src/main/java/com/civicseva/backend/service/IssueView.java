@@ -0,0 +1,36 @@
+package com.civicseva.backend.service;
+
+/**
+ * How much of an issue a response carries. {@code FULL} embeds the whole
+ * update and image history; {@code COMPACT} carries only the latest update
+ * and the history sizes, so its size does not grow with the issue's age.
+ * The history itself is paged by the {@code /updates} and {@code /images}
+ * endpoints. {@code SUMMARY}, for list endpoints only, carries just the
+ * columns a table row shows and is read without loading the history at all.
+ */
+public enum IssueView {
+    FULL,
+    COMPACT,
+    SUMMARY;
+
+    public static IssueView fromParameter(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        for (IssueView view : values()) {
+            if (view.name().equalsIgnoreCase(value.trim())) {
+                return view;
+            }
+        }
+        throw new IllegalArgumentException("Unknown view: " + value);
+    }
+
+    /** As {@link #fromParameter}, for endpoints that return a single issue. */
+    public static IssueView forSingleIssue(String value) {
+        IssueView view = fromParameter(value);
+        if (view == SUMMARY) {
+            throw new IllegalArgumentException("The summary view is only available for issue lists");
+        }
+        return view;
+    }
+}
@@ -0,0 +1,99 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.repository.IssueVersion;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Validators for conditional requests: a strong entity tag and the
+ * last-modified time, computed from issue versions rather than from the
+ * serialized body.
+ */
+public final class ResourceVersion {
+
+    private final String eTag;
+    private final long lastModified;
+
+    private ResourceVersion(String eTag, long lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    public static ResourceVersion of(IssueVersion version) {
+        return new ResourceVersion(eTag(version.getVersion()), epochMillis(version.getUpdatedAt()));
+    }
+
+    /** Tags a list by hashing the ordered (id, version) pairs of its rows. */
+    public static ResourceVersion of(List<IssueVersion> versions) {
+        MessageDigest digest = sha256();
+        ByteBuffer pair = ByteBuffer.allocate(2 * Long.BYTES);
+        LocalDateTime latest = null;
+        for (IssueVersion version : versions) {
+            pair.clear();
+            pair.putLong(version.getId()).putLong(version.getVersion());
+            digest.update(pair.array());
+            if (version.getUpdatedAt() != null && (latest == null || version.getUpdatedAt().isAfter(latest))) {
+                latest = version.getUpdatedAt();
+            }
+        }
+        String eTag = "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        return new ResourceVersion(eTag, latest != null ? epochMillis(latest) : -1);
+    }
+
+    /**
+     * Validators for the {@code view} representation of the same state. Each
+     * non-full view gets its own tag, so a cached full body is never
+     * revalidated by a compact one or vice versa.
+     */
+    public ResourceVersion forView(IssueView view) {
+        if (view == IssueView.FULL) {
+            return this;
+        }
+        String variant = eTag.substring(0, eTag.length() - 1) + "-" + view.name().toLowerCase() + "\"";
+        return new ResourceVersion(variant, lastModified);
+    }
+
+    /** The entity tag of a single issue at {@code version}. */
+    public static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against an issue's current
+     * version: {@code *} or any listed strong tag for that version matches.
+     */
+    public static boolean matches(String ifMatch, Long version) {
+        String current = eTag(version);
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || trimmed.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The quoted entity tag. */
+    public String getETag() { return eTag; }
+
+    /** Milliseconds since the epoch, or -1 when unknown. */
+    public long getLastModified() { return lastModified; }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
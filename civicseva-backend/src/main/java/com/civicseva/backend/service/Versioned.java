@@ -0,0 +1,20 @@
+package com.civicseva.backend.service;
+
+/**
+ * A response body together with the validators of the rows it was built
+ * from, so an unconditional request needs no separate version query.
+ */
+public final class Versioned<T> {
+
+    private final T body;
+    private final ResourceVersion version;
+
+    public Versioned(T body, ResourceVersion version) {
+        this.body = body;
+        this.version = version;
+    }
+
+    // Getters
+    public T getBody() { return body; }
+    public ResourceVersion getVersion() { return version; }
+}
@@ -0,0 +1,25 @@
+package com.civicseva.backend.spatial;
+
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoMath() {}
+
+    /** Great-circle distance between two WGS84 points in kilometres. */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /** Length of one degree of longitude at the given latitude, in kilometres. */
+    public static double kmPerDegreeLongitude(double latitude) {
+        return KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(latitude));
+    }
+}
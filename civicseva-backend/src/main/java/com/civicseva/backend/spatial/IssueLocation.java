@@ -0,0 +1,45 @@
+package com.civicseva.backend.spatial;
+
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * The subset of an issue held in the spatial index: enough to place it on
+ * the grid and to filter candidates without going back to the database.
+ */
+public final class IssueLocation {
+
+    private final Long id;
+    private final double latitude;
+    private final double longitude;
+    private final IssueStatus status;
+    private final IssueCategory category;
+    private final LocalDateTime reportedAt;
+
+    // Used by the JPQL constructor expression in IssueRepository
+    public IssueLocation(Long id, Double latitude, Double longitude,
+                         IssueStatus status, IssueCategory category, LocalDateTime reportedAt) {
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.status = status;
+        this.category = category;
+        this.reportedAt = reportedAt;
+    }
+
+    public static IssueLocation of(IssueSnapshot snapshot) {
+        return new IssueLocation(snapshot.getId(), snapshot.getLatitude(), snapshot.getLongitude(),
+                snapshot.getStatus(), snapshot.getCategory(), snapshot.getReportedAt());
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public IssueStatus getStatus() { return status; }
+    public IssueCategory getCategory() { return category; }
+    public LocalDateTime getReportedAt() { return reportedAt; }
+}
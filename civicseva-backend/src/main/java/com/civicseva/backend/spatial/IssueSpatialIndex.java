@@ -0,0 +1,313 @@
+package com.civicseva.backend.spatial;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * In-memory uniform grid over issue locations. Each cell covers
+ * {@value #CELL_DEGREES} degrees of latitude and longitude, so a radius query
+ * only visits the handful of cells overlapping its bounding box and applies
+ * the exact haversine filter to the entries found there.
+ *
+ * <p>The grid is rebuilt from the database once the application is ready and
+ * kept in sync afterwards from committed {@link IssueChangeEvent}s.
+ */
+@Component
+public class IssueSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueSpatialIndex.class);
+
+    static final double CELL_DEGREES = 0.01;
+    private static final int LATITUDE_CELL_MIN = (int) Math.floor(-90 / CELL_DEGREES);
+    private static final int LATITUDE_CELL_MAX = (int) Math.floor(90 / CELL_DEGREES);
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final Map<Long, IssueLocation> locations = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, IssueLocation>> cells = new ConcurrentHashMap<>();
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<IssueLocation> all = issueRepository.findAllLocations();
+        locations.clear();
+        cells.clear();
+        all.forEach(this::put);
+        log.info("Spatial index built with {} issues in {} cells", locations.size(), cells.size());
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        if (event.getAfter() == null) {
+            remove(event.getBefore().getId());
+        } else {
+            put(IssueLocation.of(event.getAfter()));
+        }
+    }
+
+    public void put(IssueLocation location) {
+        locations.compute(location.getId(), (id, previous) -> {
+            if (previous != null) {
+                removeFromCell(previous);
+            }
+            cells.compute(cellKey(location.getLatitude(), location.getLongitude()), (key, cell) -> {
+                Map<Long, IssueLocation> target = cell != null ? cell : new ConcurrentHashMap<>();
+                target.put(id, location);
+                return target;
+            });
+            return location;
+        });
+    }
+
+    public void remove(Long id) {
+        locations.computeIfPresent(id, (key, previous) -> {
+            removeFromCell(previous);
+            return null;
+        });
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * Returns every indexed issue within {@code radiusKm} of the given point
+     * that matches {@code filter}, sorted by great-circle distance.
+     */
+    public List<Neighbor> withinRadius(double latitude, double longitude, double radiusKm,
+                                       Predicate<IssueLocation> filter) {
+        List<Neighbor> result = new ArrayList<>();
+        double latitudeDelta = radiusKm / GeoMath.KM_PER_DEGREE_LATITUDE;
+        int minLatCell = Math.max(LATITUDE_CELL_MIN, latitudeCell(latitude - latitudeDelta));
+        int maxLatCell = Math.min(LATITUDE_CELL_MAX, latitudeCell(latitude + latitudeDelta));
+        int[] lonCells = longitudeCellRange(latitude, longitude, latitudeDelta, radiusKm);
+
+        long cellsInBox = (long) (maxLatCell - minLatCell + 1) * lonCells[1];
+        if (cellsInBox > cells.size()) {
+            // A very large radius: scanning the occupied cells is cheaper than the box
+            for (Map<Long, IssueLocation> cell : cells.values()) {
+                collect(cell, latitude, longitude, radiusKm, filter, result);
+            }
+        } else {
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int i = 0; i < lonCells[1]; i++) {
+                    Map<Long, IssueLocation> cell = cells.get(pack(latCell, normalizeLongitudeCell(lonCells[0] + i)));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, radiusKm, filter, result);
+                    }
+                }
+            }
+        }
+
+        result.sort(Comparator.comparingDouble(Neighbor::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * Returns the {@code k} indexed issues closest to the given point that
+     * match {@code filter}, nearest first.
+     *
+     * <p>Cells are visited best-first in order of their exact minimum distance
+     * to the point, starting from the point's own cell and expanding to grid
+     * neighbours, and the search stops as soon as the next cell cannot hold
+     * anything closer than the current k-th result. In dense areas this
+     * touches a few cells around the point. If the expansion walks through more
+     * cells than are occupied, which happens when data is sparse, it switches
+     * to ranking the occupied cells directly.
+     */
+    public List<Neighbor> nearest(double latitude, double longitude, int k, Predicate<IssueLocation> filter) {
+        PriorityQueue<Neighbor> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Neighbor::getDistanceKm).reversed());
+        PriorityQueue<CellCandidate> frontier = new PriorityQueue<>(
+                Comparator.comparingDouble(CellCandidate::getMinDistanceKm));
+        Set<Long> visited = new HashSet<>();
+        Set<Long> processed = new HashSet<>();
+        boolean expanding = true;
+
+        int startLat = latitudeCell(latitude);
+        int startLon = normalizeLongitudeCell(longitudeCell(longitude));
+        frontier.add(new CellCandidate(startLat, startLon, 0));
+        visited.add(pack(startLat, startLon));
+
+        while (!frontier.isEmpty()) {
+            CellCandidate candidate = frontier.poll();
+            if (best.size() == k && candidate.getMinDistanceKm() > best.peek().getDistanceKm()) {
+                break;
+            }
+
+            long candidateKey = pack(candidate.getLatitudeCell(), candidate.getLongitudeCell());
+            processed.add(candidateKey);
+            Map<Long, IssueLocation> cell = cells.get(candidateKey);
+            if (cell != null) {
+                for (IssueLocation location : cell.values()) {
+                    if (!filter.test(location)) {
+                        continue;
+                    }
+                    double distance = GeoMath.haversineKm(latitude, longitude,
+                            location.getLatitude(), location.getLongitude());
+                    if (best.size() < k) {
+                        best.add(new Neighbor(location, distance));
+                    } else if (distance < best.peek().getDistanceKm()) {
+                        best.poll();
+                        best.add(new Neighbor(location, distance));
+                    }
+                }
+            }
+
+            if (!expanding) {
+                continue;
+            }
+            if (visited.size() > cells.size()) {
+                // Sparse data: rank the remaining occupied cells instead of walking empty ones
+                expanding = false;
+                frontier.clear();
+                for (Long key : cells.keySet()) {
+                    if (!processed.contains(key)) {
+                        int latCell = (int) (key >> 32);
+                        int lonCell = (int) (long) key;
+                        frontier.add(new CellCandidate(latCell, lonCell,
+                                minDistanceKm(latitude, longitude, latCell, lonCell)));
+                    }
+                }
+                continue;
+            }
+
+            int latCell = candidate.getLatitudeCell();
+            int lonCell = candidate.getLongitudeCell();
+            expand(latitude, longitude, latCell - 1, lonCell, frontier, visited);
+            expand(latitude, longitude, latCell + 1, lonCell, frontier, visited);
+            expand(latitude, longitude, latCell, normalizeLongitudeCell(lonCell - 1), frontier, visited);
+            expand(latitude, longitude, latCell, normalizeLongitudeCell(lonCell + 1), frontier, visited);
+        }
+
+        List<Neighbor> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbor::getDistanceKm));
+        return result;
+    }
+
+    private void expand(double latitude, double longitude, int latCell, int lonCell,
+                        PriorityQueue<CellCandidate> frontier, Set<Long> visited) {
+        if (latCell < LATITUDE_CELL_MIN || latCell > LATITUDE_CELL_MAX || !visited.add(pack(latCell, lonCell))) {
+            return;
+        }
+        frontier.add(new CellCandidate(latCell, lonCell, minDistanceKm(latitude, longitude, latCell, lonCell)));
+    }
+
+    /** Exact great-circle distance from a point to the closest point of a grid cell. */
+    static double minDistanceKm(double latitude, double longitude, int latCell, int lonCell) {
+        double minLat = latCell * CELL_DEGREES;
+        double maxLat = minLat + CELL_DEGREES;
+        double minLon = lonCell * CELL_DEGREES;
+
+        double offset = ((longitude - minLon) % 360 + 360) % 360;
+        if (offset < CELL_DEGREES) {
+            // Point lies within the cell's longitude band: distance is along the meridian
+            if (latitude < minLat) {
+                return (minLat - latitude) * GeoMath.KM_PER_DEGREE_LATITUDE;
+            }
+            return latitude > maxLat ? (latitude - maxLat) * GeoMath.KM_PER_DEGREE_LATITUDE : 0;
+        }
+
+        // Otherwise the closest point lies on the nearer of the two bounding meridians
+        double toWest = offset;
+        double toEast = 360 - offset - CELL_DEGREES;
+        double edgeLon = toWest <= toEast ? minLon + CELL_DEGREES : minLon;
+        double deltaLon = Math.toRadians(Math.min(toWest - CELL_DEGREES, toEast));
+
+        double closestLat;
+        if (Math.cos(deltaLon) > 0) {
+            closestLat = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / Math.cos(deltaLon)));
+        } else {
+            closestLat = latitude >= 0 ? 90 : -90;
+        }
+        closestLat = Math.max(minLat, Math.min(maxLat, closestLat));
+        return GeoMath.haversineKm(latitude, longitude, closestLat, edgeLon);
+    }
+
+    private void collect(Map<Long, IssueLocation> cell, double latitude, double longitude, double radiusKm,
+                         Predicate<IssueLocation> filter, List<Neighbor> result) {
+        for (IssueLocation location : cell.values()) {
+            double distance = GeoMath.haversineKm(latitude, longitude, location.getLatitude(), location.getLongitude());
+            if (distance <= radiusKm && filter.test(location)) {
+                result.add(new Neighbor(location, distance));
+            }
+        }
+    }
+
+    private void removeFromCell(IssueLocation location) {
+        cells.computeIfPresent(cellKey(location.getLatitude(), location.getLongitude()), (key, cell) -> {
+            cell.remove(location.getId());
+            return cell.isEmpty() ? null : cell;
+        });
+    }
+
+    /** Returns {first longitude cell, number of cells}, wrapping across the antimeridian. */
+    private static int[] longitudeCellRange(double latitude, double longitude, double latitudeDelta, double radiusKm) {
+        // Use the widest latitude of the box so the range covers the whole circle
+        double widestLatitude = Math.min(90, Math.abs(latitude) + latitudeDelta);
+        double kmPerDegree = GeoMath.kmPerDegreeLongitude(widestLatitude);
+        if (kmPerDegree <= 0 || radiusKm / kmPerDegree >= 180) {
+            return new int[] { normalizeLongitudeCell(0), LONGITUDE_CELLS };
+        }
+        double longitudeDelta = radiusKm / kmPerDegree;
+        int first = longitudeCell(longitude - longitudeDelta);
+        int last = longitudeCell(longitude + longitudeDelta);
+        return new int[] { first, Math.min(LONGITUDE_CELLS, last - first + 1) };
+    }
+
+    static long cellKey(double latitude, double longitude) {
+        return pack(latitudeCell(latitude), normalizeLongitudeCell(longitudeCell(longitude)));
+    }
+
+    private static int latitudeCell(double latitude) {
+        return (int) Math.floor(latitude / CELL_DEGREES);
+    }
+
+    private static int longitudeCell(double longitude) {
+        return (int) Math.floor(longitude / CELL_DEGREES);
+    }
+
+    private static int normalizeLongitudeCell(int cell) {
+        int half = LONGITUDE_CELLS / 2;
+        return Math.floorMod(cell + half, LONGITUDE_CELLS) - half;
+    }
+
+    private static long pack(int latitudeCell, int longitudeCell) {
+        return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+    }
+
+    private static final class CellCandidate {
+
+        private final int latitudeCell;
+        private final int longitudeCell;
+        private final double minDistanceKm;
+
+        CellCandidate(int latitudeCell, int longitudeCell, double minDistanceKm) {
+            this.latitudeCell = latitudeCell;
+            this.longitudeCell = longitudeCell;
+            this.minDistanceKm = minDistanceKm;
+        }
+
+        int getLatitudeCell() { return latitudeCell; }
+        int getLongitudeCell() { return longitudeCell; }
+        double getMinDistanceKm() { return minDistanceKm; }
+    }
+}
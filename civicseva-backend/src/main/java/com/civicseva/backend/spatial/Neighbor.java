@@ -0,0 +1,16 @@
+package com.civicseva.backend.spatial;
+
+public final class Neighbor {
+
+    private final IssueLocation location;
+    private final double distanceKm;
+
+    public Neighbor(IssueLocation location, double distanceKm) {
+        this.location = location;
+        this.distanceKm = distanceKm;
+    }
+
+    public IssueLocation getLocation() { return location; }
+
+    public double getDistanceKm() { return distanceKm; }
+}
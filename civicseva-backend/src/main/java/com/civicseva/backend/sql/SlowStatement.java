@@ -0,0 +1,44 @@
+package com.civicseva.backend.sql;
+
+import java.time.Instant;
+import java.util.List;
+
+/** One statement captured by {@link SqlProfiler} for exceeding the slow threshold. */
+public class SlowStatement {
+
+    private final String sql;
+    private final List<List<String>> parameters;
+    private final double millis;
+    private final int batchSize;
+    private final boolean success;
+    private final String caller;
+    private final String thread;
+    private final Instant executedAt;
+
+    public SlowStatement(String sql, List<List<String>> parameters, double millis, int batchSize,
+                         boolean success, String caller, String thread, Instant executedAt) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.millis = millis;
+        this.batchSize = batchSize;
+        this.success = success;
+        this.caller = caller;
+        this.thread = thread;
+        this.executedAt = executedAt;
+    }
+
+    // Getters
+    public String getSql() { return sql; }
+    /**
+     * Bind values per execution: one list for a plain statement, one per batch entry (capped) for a batch.
+     * Non-null values are {@code "?"} unless {@code civicseva.sql.capture-parameters} is set.
+     */
+    public List<List<String>> getParameters() { return parameters; }
+    public double getMillis() { return millis; }
+    public int getBatchSize() { return batchSize; }
+    public boolean isSuccess() { return success; }
+    /** First application frame outside the data access layer, e.g. {@code IssueService.getIssuesPage:142}. */
+    public String getCaller() { return caller; }
+    public String getThread() { return thread; }
+    public Instant getExecutedAt() { return executedAt; }
+}
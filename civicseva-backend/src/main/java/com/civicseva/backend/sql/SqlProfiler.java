@@ -0,0 +1,310 @@
+package com.civicseva.backend.sql;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures every JDBC statement executed through the profiled
+ * {@code DataSource} (see {@code SqlProfilingConfig}).
+ *
+ * <p>The per-statement cost is a few counter updates and one map lookup
+ * keyed by the SQL string, so it can stay on in production. The expensive
+ * parts, describing bind parameters and walking the stack for the caller,
+ * only run for statements slower than {@code civicseva.sql.slow-threshold},
+ * which are kept in a fixed-size ring buffer that overwrites the oldest
+ * entry. Bind values hold citizen data, so they are masked unless
+ * {@code civicseva.sql.capture-parameters} is set.
+ *
+ * <p>Statements are also counted per HTTP request by
+ * {@link SqlProfilingFilter} and aggregated per endpoint. Statements run on
+ * other threads, such as the streaming export, are not attributed to a
+ * request.
+ */
+@Component
+public class SqlProfiler implements QueryExecutionListener, MeterBinder {
+
+    private static final String STARTED_AT = SqlProfiler.class.getName() + ".startedAt";
+    private static final String APPLICATION_PACKAGE = "com.civicseva.backend.";
+    private static final int MAX_PARAMETER_LENGTH = 200;
+    private static final int MAX_BATCH_ENTRIES = 10;
+    private static final int TOP_STATEMENTS = 20;
+    private static final String MASKED = "?";
+
+    private final long slowThresholdNanos;
+    private final int maxTrackedStatements;
+    private final boolean captureParameters;
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder failedStatements = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder untrackedStatements = new LongAdder();
+    private final Map<String, Aggregate> bySql = new ConcurrentHashMap<>();
+    private final Map<String, Aggregate> byEndpoint = new ConcurrentHashMap<>();
+
+    private final SlowStatement[] slowLog;
+    private int slowLogNext;
+
+    private final ThreadLocal<RequestStatements> currentRequest = new ThreadLocal<>();
+
+    public SqlProfiler(@Value("${civicseva.sql.slow-threshold:50ms}") Duration slowThreshold,
+                       @Value("${civicseva.sql.slow-log-size:100}") int slowLogSize,
+                       @Value("${civicseva.sql.max-tracked-statements:500}") int maxTrackedStatements,
+                       @Value("${civicseva.sql.capture-parameters:false}") boolean captureParameters) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowLog = new SlowStatement[Math.max(1, slowLogSize)];
+        this.maxTrackedStatements = maxTrackedStatements;
+        this.captureParameters = captureParameters;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        long nanos = startedAt != null ? System.nanoTime() - startedAt : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+
+        statements.increment();
+        totalNanos.add(nanos);
+        if (!execInfo.isSuccess()) {
+            failedStatements.increment();
+        }
+        RequestStatements request = currentRequest.get();
+        if (request != null) {
+            request.count++;
+        }
+
+        for (QueryInfo query : queryInfoList) {
+            Aggregate aggregate = bySql.get(query.getQuery());
+            if (aggregate == null) {
+                if (bySql.size() >= maxTrackedStatements) {
+                    untrackedStatements.increment();
+                    continue;
+                }
+                aggregate = bySql.computeIfAbsent(query.getQuery(), sql -> new Aggregate());
+            }
+            // A batch of several statement shapes is timed once; split the time evenly
+            aggregate.record(nanos / queryInfoList.size());
+        }
+
+        if (nanos >= slowThresholdNanos) {
+            recordSlow(execInfo, queryInfoList, nanos);
+        }
+    }
+
+    /** Starts counting statements for the HTTP request on the current thread. */
+    RequestStatements beginRequest() {
+        RequestStatements request = new RequestStatements();
+        currentRequest.set(request);
+        return request;
+    }
+
+    /** Stops counting and adds the request's statement count to its endpoint. */
+    void endRequest(String endpoint, RequestStatements request) {
+        currentRequest.remove();
+        Aggregate aggregate = byEndpoint.get(endpoint);
+        if (aggregate == null) {
+            if (byEndpoint.size() >= maxTrackedStatements) {
+                return;
+            }
+            aggregate = byEndpoint.computeIfAbsent(endpoint, key -> new Aggregate());
+        }
+        aggregate.record(request.count);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("civicseva.sql.statements.failed", failedStatements, LongAdder::sum)
+                .register(registry);
+        FunctionTimer.builder("civicseva.sql.statements", this,
+                        profiler -> profiler.statements.sum(), profiler -> profiler.totalNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("JDBC statements executed and the time spent in them")
+                .register(registry);
+    }
+
+    /**
+     * Totals, the captured slow statements (slowest first), the statements
+     * with the most total time, and statement counts per endpoint.
+     */
+    public Map<String, Object> stats() {
+        long count = statements.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("statements", count);
+        stats.put("failedStatements", failedStatements.sum());
+        stats.put("totalMillis", millis(totalNanos.sum()));
+        stats.put("averageMillis", count > 0 ? millis(totalNanos.sum() / count) : 0.0);
+        stats.put("slowThresholdMillis", millis(slowThresholdNanos));
+        stats.put("slowStatements", slowStatements());
+        stats.put("topStatements", topStatements());
+        stats.put("untrackedStatements", untrackedStatements.sum());
+        stats.put("requests", requests());
+        return stats;
+    }
+
+    public void reset() {
+        statements.reset();
+        failedStatements.reset();
+        totalNanos.reset();
+        untrackedStatements.reset();
+        bySql.clear();
+        byEndpoint.clear();
+        synchronized (slowLog) {
+            Arrays.fill(slowLog, null);
+            slowLogNext = 0;
+        }
+    }
+
+    private void recordSlow(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, long nanos) {
+        String sql = queryInfoList.size() == 1
+                ? queryInfoList.get(0).getQuery()
+                : String.join(";\n", queryInfoList.stream().map(QueryInfo::getQuery).toList());
+        List<List<String>> parameters = new ArrayList<>();
+        for (QueryInfo query : queryInfoList) {
+            for (List<ParameterSetOperation> operations : query.getParametersList()) {
+                if (parameters.size() == MAX_BATCH_ENTRIES) {
+                    break;
+                }
+                parameters.add(describe(operations));
+            }
+        }
+
+        SlowStatement statement = new SlowStatement(sql, parameters, millis(nanos),
+                execInfo.isBatch() ? execInfo.getBatchSize() : 0, execInfo.isSuccess(),
+                caller(), Thread.currentThread().getName(), Instant.now());
+        // Slow statements are rare, so a plain lock around the ring buffer is cheap
+        synchronized (slowLog) {
+            slowLog[slowLogNext] = statement;
+            slowLogNext = (slowLogNext + 1) % slowLog.length;
+        }
+    }
+
+    private List<SlowStatement> slowStatements() {
+        List<SlowStatement> captured = new ArrayList<>();
+        synchronized (slowLog) {
+            for (SlowStatement statement : slowLog) {
+                if (statement != null) {
+                    captured.add(statement);
+                }
+            }
+        }
+        captured.sort(Comparator.comparingDouble(SlowStatement::getMillis).reversed());
+        return captured;
+    }
+
+    private List<Map<String, Object>> topStatements() {
+        return bySql.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Aggregate> entry) -> entry.getValue().total.sum()).reversed())
+                .limit(TOP_STATEMENTS)
+                .map(entry -> {
+                    Aggregate aggregate = entry.getValue();
+                    long executions = aggregate.count.sum();
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    values.put("sql", entry.getKey());
+                    values.put("executions", executions);
+                    values.put("totalMillis", millis(aggregate.total.sum()));
+                    values.put("averageMillis", executions > 0 ? millis(aggregate.total.sum() / executions) : 0.0);
+                    values.put("maxMillis", millis(aggregate.max.get()));
+                    return values;
+                })
+                .toList();
+    }
+
+    private Map<String, Map<String, Object>> requests() {
+        Map<String, Map<String, Object>> requests = new LinkedHashMap<>();
+        byEndpoint.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Aggregate aggregate = entry.getValue();
+                    long count = aggregate.count.sum();
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    values.put("requests", count);
+                    values.put("statements", aggregate.total.sum());
+                    values.put("averageStatements", count > 0 ? (double) aggregate.total.sum() / count : 0.0);
+                    values.put("maxStatements", aggregate.max.get());
+                    requests.put(entry.getKey(), values);
+                });
+        return requests;
+    }
+
+    // Masked values keep their position and nullness, which is often enough to explain a plan
+    private List<String> describe(List<ParameterSetOperation> operations) {
+        List<String> values = new ArrayList<>(operations.size());
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            if (ParameterSetOperation.isSetNullParameterOperation(operation) || args.length < 2 || args[1] == null) {
+                values.add(null);
+                continue;
+            }
+            if (!captureParameters) {
+                values.add(MASKED);
+                continue;
+            }
+            String value = String.valueOf(args[1]);
+            values.add(value.length() > MAX_PARAMETER_LENGTH ? value.substring(0, MAX_PARAMETER_LENGTH) + "..." : value);
+        }
+        return values;
+    }
+
+    // The first application frame above the repositories, e.g. the service method that issued the query
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE))
+                .filter(frame -> !frame.getClassName().startsWith(APPLICATION_PACKAGE + "sql.")
+                        && !frame.getClassName().startsWith(APPLICATION_PACKAGE + "repository.")
+                        && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1)
+                            + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                })
+                .orElse(null));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static final class RequestStatements {
+        int count;
+    }
+
+    private static final class Aggregate {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder total = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        void record(long value) {
+            count.increment();
+            total.add(value);
+            if (value > max.get()) {
+                max.accumulateAndGet(value, Math::max);
+            }
+        }
+    }
+}
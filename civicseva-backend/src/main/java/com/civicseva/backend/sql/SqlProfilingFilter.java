@@ -0,0 +1,38 @@
+package com.civicseva.backend.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the JDBC statements each HTTP request executes on its own thread
+ * and reports them to {@link SqlProfiler} under the handler's URL pattern,
+ * e.g. {@code GET /issues/{issueId}}, so endpoints stay a bounded set.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final SqlProfiler sqlProfiler;
+
+    public SqlProfilingFilter(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlProfiler.RequestStatements statements = sqlProfiler.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlProfiler.endRequest(request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED), statements);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.civicseva.backend.statistics;
+
+import com.civicseva.backend.dto.IssueStatisticsDto;
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process issue counters by status, category, department and
+ * status x category. Seeded from a single grouped aggregate when the
+ * application is ready and then maintained from committed
+ * {@link IssueChangeEvent}s, so reads never touch the database.
+ *
+ * <p>A rebuild fills fresh counters from the aggregate and swaps them in
+ * whole. Events that arrive while the aggregate runs are applied to both the
+ * live and the fresh counters, so none is lost to the swap.
+ */
+@Component
+public class IssueStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueStatistics.class);
+
+    private static final IssueStatus[] STATUSES = IssueStatus.values();
+    private static final IssueCategory[] CATEGORIES = IssueCategory.values();
+
+    // Events hold the read lock, so a rebuild can start and swap between whole events
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile Counts counts = new Counts();
+    // Guarded by swapLock; non-null while a rebuild runs
+    private Counts rebuilding;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Counts fresh = new Counts();
+        swap(counts, fresh);
+        List<Object[]> rows;
+        try {
+            rows = issueRepository.countGroupedByStatusCategoryAndDepartment();
+        } catch (RuntimeException e) {
+            swap(counts, null);
+            throw e;
+        }
+        for (Object[] row : rows) {
+            fresh.add((IssueStatus) row[0], (IssueCategory) row[1], (String) row[2], (Long) row[3]);
+        }
+        swap(fresh, null);
+        log.info("Issue statistics seeded from {} groups", rows.size());
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        IssueSnapshot before = event.getBefore();
+        IssueSnapshot after = event.getAfter();
+        if (before != null && after != null && sameBucket(before, after)) {
+            return;
+        }
+        swapLock.readLock().lock();
+        try {
+            apply(counts, before, after);
+            if (rebuilding != null) {
+                apply(rebuilding, before, after);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    public long getStatusCount(IssueStatus status) {
+        return counts.getStatusCount(status);
+    }
+
+    public long getCategoryCount(IssueCategory category) {
+        return counts.getCategoryCount(category);
+    }
+
+    public long getCount(IssueStatus status, IssueCategory category) {
+        return counts.statusCategory[status.ordinal()][category.ordinal()].sum();
+    }
+
+    public IssueStatisticsDto snapshot() {
+        Counts counts = this.counts;
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        for (IssueStatus status : STATUSES) {
+            statusCounts.put(status.getDisplayName(), counts.getStatusCount(status));
+        }
+
+        Map<String, Long> categoryCounts = new LinkedHashMap<>();
+        for (IssueCategory category : CATEGORIES) {
+            categoryCounts.put(category.getDisplayName(), counts.getCategoryCount(category));
+        }
+
+        Map<String, Long> departmentCounts = new TreeMap<>();
+        counts.departments.forEach((department, adder) -> {
+            long count = adder.sum();
+            if (count > 0) {
+                departmentCounts.put(department, count);
+            }
+        });
+
+        Map<String, Map<String, Long>> statusCategoryCounts = new LinkedHashMap<>();
+        for (IssueStatus status : STATUSES) {
+            Map<String, Long> byCategory = new LinkedHashMap<>();
+            for (IssueCategory category : CATEGORIES) {
+                byCategory.put(category.getDisplayName(),
+                        counts.statusCategory[status.ordinal()][category.ordinal()].sum());
+            }
+            statusCategoryCounts.put(status.getDisplayName(), byCategory);
+        }
+
+        IssueStatisticsDto dto = new IssueStatisticsDto();
+        dto.setStatusCounts(statusCounts);
+        dto.setCategoryCounts(categoryCounts);
+        dto.setDepartmentCounts(departmentCounts);
+        dto.setStatusCategoryCounts(statusCategoryCounts);
+        return dto;
+    }
+
+    private void swap(Counts live, Counts next) {
+        swapLock.writeLock().lock();
+        try {
+            counts = live;
+            rebuilding = next;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Counts counts, IssueSnapshot before, IssueSnapshot after) {
+        if (before != null) {
+            counts.add(before.getStatus(), before.getCategory(), before.getDepartment(), -1);
+        }
+        if (after != null) {
+            counts.add(after.getStatus(), after.getCategory(), after.getDepartment(), 1);
+        }
+    }
+
+    private static boolean sameBucket(IssueSnapshot before, IssueSnapshot after) {
+        return before.getStatus() == after.getStatus()
+                && before.getCategory() == after.getCategory()
+                && before.getDepartment().equals(after.getDepartment());
+    }
+
+    private static final class Counts {
+
+        final LongAdder[][] statusCategory = new LongAdder[STATUSES.length][CATEGORIES.length];
+        final Map<String, LongAdder> departments = new ConcurrentHashMap<>();
+
+        Counts() {
+            for (int s = 0; s < STATUSES.length; s++) {
+                for (int c = 0; c < CATEGORIES.length; c++) {
+                    statusCategory[s][c] = new LongAdder();
+                }
+            }
+        }
+
+        void add(IssueStatus status, IssueCategory category, String department, long delta) {
+            statusCategory[status.ordinal()][category.ordinal()].add(delta);
+            departments.computeIfAbsent(department, k -> new LongAdder()).add(delta);
+        }
+
+        long getStatusCount(IssueStatus status) {
+            long total = 0;
+            for (LongAdder adder : statusCategory[status.ordinal()]) {
+                total += adder.sum();
+            }
+            return total;
+        }
+
+        long getCategoryCount(IssueCategory category) {
+            long total = 0;
+            for (LongAdder[] row : statusCategory) {
+                total += row[category.ordinal()].sum();
+            }
+            return total;
+        }
+    }
+}
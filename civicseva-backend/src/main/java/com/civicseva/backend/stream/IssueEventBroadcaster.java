@@ -0,0 +1,334 @@
+package com.civicseva.backend.stream;
+
+import com.civicseva.backend.dto.IssueEventDto;
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes committed issue changes to Server-Sent Events subscribers.
+ *
+ * <p>Subscribers hold no thread: each is an async {@link SseEmitter} with an
+ * {@link IssueEventBuffer}. Publishing only filters and enqueues; a small
+ * shared pool drains a subscriber's buffer whenever it becomes non-empty,
+ * with at most one drain per subscriber in flight so its events stay in
+ * order. A client that reads slowly therefore sees coalesced or dropped
+ * events instead of growing the server's memory. A periodic heartbeat
+ * comment keeps idle connections open through proxies and detects
+ * disconnected clients.
+ *
+ * <p>{@link SseEmitter#send} blocks while the client's socket buffer is
+ * full, so a drain never sends itself: it hands the batch to a bounded pool
+ * of {@code civicseva.stream.writers} threads and returns, and the write
+ * schedules the subscriber's next drain when it finishes. A write that has
+ * not finished {@code civicseva.stream.send-timeout} after it was handed
+ * over, whether still queued for a writer or blocked on the socket, closes
+ * its stream. A blocked write keeps its writer until the connection times
+ * out, so once stalled clients fill the pool, new writes wait in the queue
+ * and are closed at their deadline instead of adding threads.
+ */
+@Component
+public class IssueEventBroadcaster implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(IssueEventBroadcaster.class);
+
+    @Value("${civicseva.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${civicseva.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${civicseva.stream.workers:2}")
+    private int workers;
+
+    @Value("${civicseva.stream.writers:16}")
+    private int writerThreads;
+
+    @Value("${civicseva.stream.heartbeat:20s}")
+    private Duration heartbeat;
+
+    @Value("${civicseva.stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${civicseva.stream.send-timeout:5s}")
+    private Duration sendTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder stalled = new LongAdder();
+
+    private ScheduledThreadPoolExecutor executor;
+    // Bounded; the queue holds at most one write per subscriber
+    private ThreadPoolExecutor writers;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(workers, runnable -> {
+            Thread thread = new Thread(runnable, "issue-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Most send deadlines are cancelled when the write finishes
+        executor.setRemoveOnCancelPolicy(true);
+        long period = heartbeat.toMillis();
+        executor.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+        AtomicInteger writerCount = new AtomicInteger();
+        writers = new ThreadPoolExecutor(writerThreads, writerThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "issue-stream-writer-" + writerCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        writers.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        writers.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /** Opens a stream for the filter, or returns empty when the subscriber limit is reached. */
+    public Optional<SseEmitter> subscribe(IssueStreamFilter filter) {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, filter, new IssueEventBuffer(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    @TransactionalEventListener
+    public void onIssueChange(IssueChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        IssueEventDto dto = toDto(event);
+        published.increment();
+        for (Subscriber subscriber : subscribers) {
+            // Also match the old state, so a board filtered on a department sees an issue leave it
+            if (matches(subscriber.filter, event.getBefore()) || matches(subscriber.filter, event.getAfter())) {
+                switch (subscriber.buffer.offer(dto)) {
+                    case COALESCED -> coalesced.increment();
+                    case DROPPED_OLDEST -> dropped.increment();
+                    default -> { }
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("civicseva.stream.subscribers", subscribers, Set::size)
+                .description("Open issue event streams")
+                .register(registry);
+        FunctionCounter.builder("civicseva.stream.events.published", published, LongAdder::sum)
+                .register(registry);
+        FunctionCounter.builder("civicseva.stream.events.coalesced", coalesced, LongAdder::sum)
+                .description("Events replaced by a newer event for the same issue before delivery")
+                .register(registry);
+        FunctionCounter.builder("civicseva.stream.events.dropped", dropped, LongAdder::sum)
+                .description("Events dropped because a subscriber's buffer was full")
+                .register(registry);
+        FunctionCounter.builder("civicseva.stream.subscribers.stalled", stalled, LongAdder::sum)
+                .description("Streams closed because a send did not finish within the send timeout")
+                .register(registry);
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.buffer.requestHeartbeat();
+            schedule(subscriber);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            IssueEventBuffer.Batch batch = subscriber.buffer.drain();
+            if (!batch.isEmpty()) {
+                // draining stays set until the write finishes and drains again
+                write(new Write(subscriber, batch));
+                return;
+            }
+            subscriber.draining.set(false);
+            // An offer may have landed between drain() and the flag reset
+            if (subscriber.buffer.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void write(Write write) {
+        try {
+            write.deadline = executor.schedule(() -> expire(write), sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            writers.execute(write);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            if (write.state.compareAndSet(Write.QUEUED, Write.CLOSED)) {
+                close(write.subscriber, new IOException("Issue stream is shutting down"));
+            }
+        }
+    }
+
+    private void expire(Write write) {
+        if (write.state.compareAndSet(Write.QUEUED, Write.CLOSED)) {
+            // No writer picked it up in time, so the emitter is free to complete here
+            stalled.increment();
+            log.debug("Closing issue stream whose send waited {} for a writer", sendTimeout);
+            close(write.subscriber, new IOException("Send did not start within " + sendTimeout));
+        } else if (write.state.compareAndSet(Write.SENDING, Write.CLOSED)) {
+            // The blocked send holds the emitter's lock; its writer completes the emitter when it returns
+            stalled.increment();
+            log.debug("Closing issue stream that has not read for {}", sendTimeout);
+            subscribers.remove(write.subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber, Throwable error) {
+        subscribers.remove(subscriber);
+        subscriber.emitter.completeWithError(error);
+    }
+
+    private static void send(SseEmitter emitter, IssueEventBuffer.Batch batch) throws IOException {
+        if (batch.dropped > 0) {
+            emitter.send(SseEmitter.event().name("overflow").data(Map.of("dropped", batch.dropped), MediaType.APPLICATION_JSON));
+        }
+        for (IssueEventDto event : batch.events) {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.getSequence()))
+                    .name(event.getType().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+        if (batch.heartbeat && batch.events.isEmpty()) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private static boolean matches(IssueStreamFilter filter, IssueSnapshot issue) {
+        return issue != null && filter.matches(issue);
+    }
+
+    private IssueEventDto toDto(IssueChangeEvent event) {
+        IssueSnapshot issue = event.getCurrent();
+        IssueEventDto dto = new IssueEventDto();
+        dto.setSequence(sequence.incrementAndGet());
+        dto.setType(event.getType().name());
+        dto.setIssueId(issue.getIssueId());
+        dto.setTitle(issue.getTitle());
+        dto.setStatus(issue.getStatus().getDisplayName());
+        dto.setCategory(issue.getCategory().getDisplayName());
+        dto.setPriority(issue.getPriority() != null ? issue.getPriority().getDisplayName() : null);
+        dto.setDepartment(issue.getDepartment());
+        dto.setLatitude(issue.getLatitude());
+        dto.setLongitude(issue.getLongitude());
+        dto.setOccurredAt(LocalDateTime.now());
+        return dto;
+    }
+
+    private final class Write implements Runnable {
+
+        static final int QUEUED = 0;
+        static final int SENDING = 1;
+        static final int DONE = 2;
+        static final int CLOSED = 3;
+
+        final Subscriber subscriber;
+        final IssueEventBuffer.Batch batch;
+        final AtomicInteger state = new AtomicInteger(QUEUED);
+        volatile ScheduledFuture<?> deadline;
+
+        Write(Subscriber subscriber, IssueEventBuffer.Batch batch) {
+            this.subscriber = subscriber;
+            this.batch = batch;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, SENDING)) {
+                return;
+            }
+            try {
+                send(subscriber.emitter, batch);
+            } catch (IOException | RuntimeException e) {
+                // Client went away; the emitter callbacks may not fire for a broken connection
+                state.set(CLOSED);
+                deadline.cancel(false);
+                log.debug("Closing issue stream: {}", e.getMessage());
+                close(subscriber, e);
+                return;
+            }
+            if (state.compareAndSet(SENDING, DONE)) {
+                deadline.cancel(false);
+                executor.execute(() -> drain(subscriber));
+            } else {
+                // Timed out while blocked, and already removed
+                subscriber.emitter.completeWithError(new IOException("Send did not complete within " + sendTimeout));
+            }
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final IssueStreamFilter filter;
+        final IssueEventBuffer buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, IssueStreamFilter filter, IssueEventBuffer buffer) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = buffer;
+        }
+    }
+}
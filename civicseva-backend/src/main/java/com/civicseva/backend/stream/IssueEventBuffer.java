@@ -0,0 +1,112 @@
+package com.civicseva.backend.stream;
+
+import com.civicseva.backend.dto.IssueEventDto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded per-subscriber queue of pending issue events, coalesced by issue.
+ *
+ * <p>A newer event for an issue that is still pending replaces the older
+ * one in place, so a slow client sees the latest state once rather than
+ * every intermediate step. An issue created and deleted before delivery
+ * disappears entirely, and a pending creation keeps its {@code CREATED}
+ * type so the client still learns the issue is new. When more distinct
+ * issues are pending than the capacity allows, the oldest are dropped and
+ * the next drain reports how many, so the client can resynchronise.
+ */
+final class IssueEventBuffer {
+
+    static final String CREATED = "CREATED";
+    static final String DELETED = "DELETED";
+
+    private final int capacity;
+    private final LinkedHashMap<String, IssueEventDto> pending = new LinkedHashMap<>();
+    private long dropped;
+    private boolean heartbeat;
+
+    enum Outcome { QUEUED, COALESCED, DROPPED_OLDEST }
+
+    IssueEventBuffer(int capacity) {
+        this.capacity = capacity;
+    }
+
+    synchronized Outcome offer(IssueEventDto event) {
+        IssueEventDto previous = pending.get(event.getIssueId());
+        if (previous != null) {
+            if (CREATED.equals(previous.getType())) {
+                if (DELETED.equals(event.getType())) {
+                    pending.remove(event.getIssueId());
+                    return Outcome.COALESCED;
+                }
+                event = asCreated(event);
+            }
+            pending.put(event.getIssueId(), event);
+            return Outcome.COALESCED;
+        }
+
+        pending.put(event.getIssueId(), event);
+        if (pending.size() > capacity) {
+            Iterator<IssueEventDto> oldest = pending.values().iterator();
+            oldest.next();
+            oldest.remove();
+            dropped++;
+            return Outcome.DROPPED_OLDEST;
+        }
+        return Outcome.QUEUED;
+    }
+
+    synchronized void requestHeartbeat() {
+        heartbeat = true;
+    }
+
+    /** Takes everything pending; the result is empty when there is nothing to send. */
+    synchronized Batch drain() {
+        Batch batch = new Batch(new ArrayList<>(pending.values()), dropped, heartbeat);
+        pending.clear();
+        dropped = 0;
+        heartbeat = false;
+        return batch;
+    }
+
+    synchronized boolean isEmpty() {
+        return pending.isEmpty() && dropped == 0 && !heartbeat;
+    }
+
+    // Events are shared between subscribers, so a retyped event is a copy
+    private static IssueEventDto asCreated(IssueEventDto event) {
+        IssueEventDto created = new IssueEventDto();
+        created.setSequence(event.getSequence());
+        created.setType(CREATED);
+        created.setIssueId(event.getIssueId());
+        created.setTitle(event.getTitle());
+        created.setStatus(event.getStatus());
+        created.setCategory(event.getCategory());
+        created.setPriority(event.getPriority());
+        created.setDepartment(event.getDepartment());
+        created.setLatitude(event.getLatitude());
+        created.setLongitude(event.getLongitude());
+        created.setOccurredAt(event.getOccurredAt());
+        return created;
+    }
+
+    static final class Batch {
+
+        final List<IssueEventDto> events;
+        final long dropped;
+        final boolean heartbeat;
+
+        Batch(List<IssueEventDto> events, long dropped, boolean heartbeat) {
+            this.events = events;
+            this.dropped = dropped;
+            this.heartbeat = heartbeat;
+        }
+
+        boolean isEmpty() {
+            return events.isEmpty() && dropped == 0 && !heartbeat;
+        }
+    }
+}
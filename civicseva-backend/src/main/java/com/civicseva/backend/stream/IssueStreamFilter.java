@@ -0,0 +1,73 @@
+package com.civicseva.backend.stream;
+
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.IssueCategory;
+
+/**
+ * Which issue events a stream subscriber receives. Every criterion that is
+ * set must match; an unset criterion matches everything.
+ */
+public final class IssueStreamFilter {
+
+    static final IssueStreamFilter ALL = new IssueStreamFilter(null, null, null);
+
+    private final String department;
+    private final IssueCategory category;
+    // south, west, north, east
+    private final double[] bbox;
+
+    private IssueStreamFilter(String department, IssueCategory category, double[] bbox) {
+        this.department = department;
+        this.category = category;
+        this.bbox = bbox;
+    }
+
+    /**
+     * Parses request parameters: a department name (case-insensitive), a
+     * category display name, and a bounding box as
+     * {@code south,west,north,east} in degrees.
+     */
+    public static IssueStreamFilter of(String department, String category, String bbox) {
+        return new IssueStreamFilter(
+                department == null || department.isBlank() ? null : department.trim(),
+                category == null || category.isBlank() ? null : IssueCategory.fromDisplayName(category),
+                bbox == null || bbox.isBlank() ? null : parseBoundingBox(bbox));
+    }
+
+    public boolean matches(IssueSnapshot issue) {
+        if (department != null && !department.equalsIgnoreCase(issue.getDepartment())) {
+            return false;
+        }
+        if (category != null && category != issue.getCategory()) {
+            return false;
+        }
+        if (bbox != null) {
+            if (issue.getLatitude() == null || issue.getLongitude() == null) {
+                return false;
+            }
+            double latitude = issue.getLatitude();
+            double longitude = issue.getLongitude();
+            return latitude >= bbox[0] && latitude <= bbox[2] && longitude >= bbox[1] && longitude <= bbox[3];
+        }
+        return true;
+    }
+
+    private static double[] parseBoundingBox(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be south,west,north,east");
+        }
+        double[] bbox = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                bbox[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must be south,west,north,east");
+        }
+        if (bbox[0] > bbox[2] || bbox[1] > bbox[3]) {
+            throw new IllegalArgumentException("bbox south/west must not exceed north/east");
+        }
+        return bbox;
+    }
+}
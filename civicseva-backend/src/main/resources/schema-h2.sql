@@ -0,0 +1,2 @@
+-- Public issue numbers (IS-<n>); IssueIdAllocator draws blocks of 100 above the legacy random range
+CREATE SEQUENCE IF NOT EXISTS issue_id_seq START WITH 100000 INCREMENT BY 100;
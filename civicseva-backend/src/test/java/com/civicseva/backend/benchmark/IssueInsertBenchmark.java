@@ -0,0 +1,106 @@
+package com.civicseva.backend.benchmark;
+
+import com.civicseva.backend.CivicSevaBackendApplication;
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.service.IssueService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Measures issue-creation throughput through {@link IssueService#createIssue}
+ * on H2 and on H2 in MySQL compatibility mode. Each create writes the issue,
+ * its initial update and its "Before" image.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=IssueInsertBenchmark}; the
+ * number of issues per scenario can be changed with {@code -Dbenchmark.issues}.
+ */
+@Tag("benchmark")
+public class IssueInsertBenchmark {
+
+    private static final int ISSUES = Integer.getInteger("benchmark.issues", 5000);
+    private static final int ISSUES_PER_TRANSACTION = 500;
+
+    // Every issue gets its own spot, so the duplicate check on create finds nothing and reads nothing
+    private int created;
+
+    @Test
+    public void benchmarkH2() {
+        run("H2", "jdbc:h2:mem:insert-bench");
+    }
+
+    @Test
+    public void benchmarkH2MySqlMode() {
+        run("H2 (MySQL mode)", "jdbc:h2:mem:insert-bench-mysql;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    private void run(String label, String url) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CivicSevaBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments rather than builder properties, which application.properties would override
+                .run(
+                    "--spring.datasource.url=" + url,
+                    "--spring.jpa.show-sql=false",
+                    "--spring.jpa.properties.hibernate.generate_statistics=true",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.civicseva=WARN")) {
+
+            assertEquals(url, context.getEnvironment().getProperty("spring.datasource.url"));
+            IssueService issueService = context.getBean(IssueService.class);
+            TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                    .unwrap(SessionFactory.class).getStatistics();
+
+            // Warm up the JIT, statement caches and id blocks
+            for (int i = 0; i < 500; i++) {
+                issueService.createIssue(issue(created++));
+            }
+
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int i = 0; i < ISSUES; i++) {
+                issueService.createIssue(issue(created++));
+            }
+            report(label, "one issue per transaction", start, statistics);
+
+            statistics.clear();
+            start = System.nanoTime();
+            for (int batch = 0; batch < ISSUES; batch += ISSUES_PER_TRANSACTION) {
+                transaction.executeWithoutResult(status -> {
+                    for (int i = 0; i < ISSUES_PER_TRANSACTION; i++) {
+                        issueService.createIssue(issue(created++));
+                    }
+                });
+            }
+            report(label, ISSUES_PER_TRANSACTION + " issues per transaction", start, statistics);
+        }
+    }
+
+    private static void report(String label, String scenario, long startNanos, Statistics statistics) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("[insert-benchmark] %-16s %-28s %8.0f issues/s  %6.2f statements/issue%n",
+                label, scenario, ISSUES / seconds, (double) statistics.getPrepareStatementCount() / ISSUES);
+    }
+
+    private static CreateIssueDto issue(int n) {
+        CreateIssueDto dto = new CreateIssueDto();
+        dto.setTitle("Benchmark issue " + n);
+        dto.setDescription("Pothole reported for insert throughput benchmarking, number " + n);
+        dto.setImageUrl("https://example.com/images/" + n + ".jpg");
+        // About 550 m apart, beyond civicseva.duplicates.radius-km
+        dto.setLatitude(40.0 + (n % 200) * 0.005);
+        dto.setLongitude(-74.0 - (n / 200) * 0.005);
+        dto.setAddress("Main St, New York, NY");
+        dto.setCategory("Pothole");
+        return dto;
+    }
+}
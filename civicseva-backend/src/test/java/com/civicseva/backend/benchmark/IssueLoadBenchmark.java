@@ -0,0 +1,210 @@
+package com.civicseva.backend.benchmark;
+
+import com.civicseva.backend.CivicSevaBackendApplication;
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.service.IssueService;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Compares throughput and latency of {@code GET /issues},
+ * {@code GET /issues/{id}} and concurrent {@code POST /issues} with request
+ * handling on Tomcat's platform worker pool and on virtual threads (the
+ * {@code virtual-threads} profile). The POST case uses up issue id blocks
+ * while every pool connection is busy, which is where an allocator that
+ * reserved blocks on the caller's thread would starve the pool.
+ *
+ * <p>Each scenario starts the full application on a random port, seeds
+ * {@code benchmark.issues} issues and drives it from
+ * {@code benchmark.concurrency} closed-loop clients, which by default is
+ * twice Tomcat's 200 worker threads. The virtual-thread scenario is skipped
+ * on JVMs older than 21.
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dtest=IssueLoadBenchmark}, on
+ * Java 21 with {@code -Pjava21} as well.
+ */
+@Tag("benchmark")
+public class IssueLoadBenchmark {
+
+    private static final int ISSUES = Integer.getInteger("benchmark.issues", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("benchmark.warmup-seconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Integer.getInteger("benchmark.seconds", 15));
+
+    @Test
+    public void benchmarkPlatformThreads() throws Exception {
+        run("platform", "default");
+    }
+
+    @Test
+    public void benchmarkVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads need Java 21");
+        run("virtual", "virtual-threads");
+    }
+
+    private void run(String label, String profile) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CivicSevaBackendApplication.class)
+                .profiles(profile)
+                // Arguments rather than builder properties, which application.properties would override
+                .run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:load-bench-" + label,
+                    "--civicseva.images.directory=" + Files.createTempDirectory("load-bench-images"),
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=WARN",
+                    "--logging.level.com.civicseva=WARN",
+                    "--logging.level.org.springframework.security=WARN")) {
+
+            List<String> ids = seed(context.getBean(IssueService.class));
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+
+            measure(label, "GET /issues", random -> get(base + "/issues?limit=20"), 200);
+            measure(label, "GET /issues/{id}", random -> get(base + "/issues/" + ids.get(random.nextInt(ids.size()))), 200);
+            measure(label, "POST /issues", random -> post(base + "/issues", random.nextInt(ISSUES)), 201);
+        }
+    }
+
+    private static List<String> seed(IssueService issueService) {
+        List<CreateIssueDto> batch = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < ISSUES; i++) {
+            batch.add(issue(i));
+            if (batch.size() == 500 || i == ISSUES - 1) {
+                ids.addAll(issueService.createIssues(batch));
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest post(String url, int n) {
+        String body = String.format(
+                "{\"title\":\"Load benchmark report %d\",\"description\":\"Reported under load, number %d\","
+                        + "\"latitude\":%s,\"longitude\":%s,\"address\":\"Main St, New York, NY\",\"category\":\"Pothole\"}",
+                n, n, 40.7 + (n % 1000) / 10000.0, -74.0 - (n % 1000) / 10000.0);
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void measure(String label, String endpoint, Function<ThreadLocalRandom, HttpRequest> requests,
+                                int expectedStatus) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        drive(client, requests, expectedStatus, WARMUP);
+
+        long start = System.nanoTime();
+        Result result = drive(client, requests, expectedStatus, MEASUREMENT);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = result.latencies;
+        Arrays.sort(latencies);
+        System.out.printf("[load-benchmark] %-8s %-18s %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  errors %d%n",
+                label, endpoint, latencies.length / seconds,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, result.errors);
+    }
+
+    // Closed loop: each client sends its next request as soon as the previous one completes
+    private static Result drive(HttpClient client, Function<ThreadLocalRandom, HttpRequest> requests, int expectedStatus,
+                                Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < CONCURRENCY; c++) {
+                futures.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.apply(random);
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != expectedStatus) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - sent;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+
+            List<long[]> perClient = new ArrayList<>();
+            int total = 0;
+            for (Future<long[]> future : futures) {
+                long[] samples = future.get();
+                perClient.add(samples);
+                total += samples.length;
+            }
+            long[] latencies = new long[total];
+            int offset = 0;
+            for (long[] samples : perClient) {
+                System.arraycopy(samples, 0, latencies, offset, samples.length);
+                offset += samples.length;
+            }
+            return new Result(latencies, errors.get());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static CreateIssueDto issue(int n) {
+        CreateIssueDto dto = new CreateIssueDto();
+        dto.setTitle("Load benchmark issue " + n);
+        dto.setDescription("Issue reported for load benchmarking, number " + n);
+        dto.setLatitude(40.7 + (n % 1000) / 10000.0);
+        dto.setLongitude(-74.0 - (n % 1000) / 10000.0);
+        dto.setAddress("Main St, New York, NY");
+        dto.setCategory(n % 2 == 0 ? "Pothole" : "Streetlight Outage");
+        return dto;
+    }
+
+    private static final class Result {
+
+        final long[] latencies;
+        final long errors;
+
+        Result(long[] latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+    }
+}
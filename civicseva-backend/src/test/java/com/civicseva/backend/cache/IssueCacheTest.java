@@ -0,0 +1,76 @@
+package com.civicseva.backend.cache;
+
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IssueCacheTest {
+
+    private IssueCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new IssueCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testIssueIsLoadedOnceUntilChanged() {
+        assertTrue(getIssue("IS-1").isPresent());
+        assertTrue(getIssue("IS-1").isPresent());
+        assertEquals(1, loads.get());
+
+        Issue issue = issue("IS-1", IssueStatus.REPORTED, IssueCategory.POTHOLE);
+        IssueSnapshot before = IssueSnapshot.of(issue);
+        issue.setStatus(IssueStatus.IN_PROGRESS);
+        cache.onIssueChange(new IssueChangeEvent(IssueChangeEvent.Type.STATUS_CHANGED, before, IssueSnapshot.of(issue)));
+
+        getIssue("IS-1");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testMissingIssueIsNotCached() {
+        assertFalse(cache.getIssue("IS-404", id -> { loads.incrementAndGet(); return Optional.empty(); }).isPresent());
+        assertFalse(cache.getIssue("IS-404", id -> { loads.incrementAndGet(); return Optional.empty(); }).isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testStatsRecordHitsAndMisses() {
+        getIssue("IS-1");
+        getIssue("IS-1");
+        getIssue("IS-2");
+
+        assertEquals(1L, cache.stats().get(IssueCache.ISSUES).get("hitCount"));
+        assertEquals(2L, cache.stats().get(IssueCache.ISSUES).get("missCount"));
+    }
+
+    private Optional<IssueDto> getIssue(String issueId) {
+        return cache.getIssue(issueId, id -> {
+            loads.incrementAndGet();
+            IssueDto dto = new IssueDto();
+            dto.setId(id);
+            return Optional.of(dto);
+        });
+    }
+
+    private static Issue issue(String issueId, IssueStatus status, IssueCategory category) {
+        Issue issue = new Issue("Title", "Description", 40.7, -74.0, "Main St", category, "Public Works");
+        issue.setIssueId(issueId);
+        issue.setStatus(status);
+        return issue;
+    }
+}
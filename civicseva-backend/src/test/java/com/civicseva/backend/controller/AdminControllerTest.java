@@ -0,0 +1,68 @@
+package com.civicseva.backend.controller;
+
+import com.civicseva.backend.cache.IssueCache;
+import com.civicseva.backend.config.SecurityConfig;
+import com.civicseva.backend.image.ImageDerivativePipeline;
+import com.civicseva.backend.sql.SqlProfiler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+@Import(SecurityConfig.class)
+public class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IssueCache issueCache;
+
+    @MockBean
+    private ImageDerivativePipeline imageDerivativePipeline;
+
+    @MockBean
+    private SqlProfiler sqlProfiler;
+
+    @Test
+    public void testRejectsAnonymousRequests() throws Exception {
+        mockMvc.perform(get("/admin/sql"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/admin/cache"))
+                .andExpect(status().isUnauthorized());
+
+        verify(sqlProfiler, never()).stats();
+        verify(issueCache, never()).invalidateAll();
+    }
+
+    @Test
+    public void testRejectsUsersWithoutAdminRole() throws Exception {
+        mockMvc.perform(delete("/admin/sql").with(user("citizen").roles("USER")))
+                .andExpect(status().isForbidden());
+
+        verify(sqlProfiler, never()).reset();
+    }
+
+    @Test
+    public void testServesAdmins() throws Exception {
+        when(sqlProfiler.stats()).thenReturn(Map.of("statements", 3L));
+
+        mockMvc.perform(get("/admin/sql").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statements").value(3));
+        mockMvc.perform(delete("/admin/cache").with(user("admin").roles("ADMIN")))
+                .andExpect(status().isNoContent());
+
+        verify(issueCache).invalidateAll();
+    }
+}
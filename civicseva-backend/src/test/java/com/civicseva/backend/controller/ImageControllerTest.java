@@ -0,0 +1,100 @@
+package com.civicseva.backend.controller;
+
+import com.civicseva.backend.config.SecurityConfig;
+import com.civicseva.backend.image.ImageStore;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ImageController.class)
+@Import({SecurityConfig.class, ImageStore.class})
+public class ImageControllerTest {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1, 1, 0};
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void imageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("civicseva.images.directory", directory::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testUploadThenServe() throws Exception {
+        MvcResult upload = mockMvc.perform(multipart("/images")
+                .file(new MockMultipartFile("file", "photo.jpg", "image/jpeg", JPEG)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.contentType").value("image/jpeg"))
+                .andReturn();
+        String hash = JsonPath.read(upload.getResponse().getContentAsString(), "$.hash");
+
+        mockMvc.perform(multipart("/images")
+                .file(new MockMultipartFile("file", "again.jpg", "image/jpeg", JPEG)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.duplicate").value(true))
+                .andExpect(jsonPath("$.hash").value(hash));
+
+        MvcResult served = mockMvc.perform(get("/images/" + hash))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andReturn();
+        assertArrayEquals(JPEG, served.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get("/images/" + hash).header(HttpHeaders.IF_NONE_MATCH, "\"" + hash + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testMissingDerivativeRedirectsToOriginal() throws Exception {
+        MvcResult upload = mockMvc.perform(multipart("/images")
+                .file(new MockMultipartFile("file", "other.jpg", "image/jpeg", Arrays.copyOf(JPEG, 20))))
+                .andReturn();
+        String hash = JsonPath.read(upload.getResponse().getContentAsString(), "$.hash");
+
+        mockMvc.perform(get("/images/" + hash + "/thumbnail"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/images/" + hash));
+        mockMvc.perform(get("/images/" + "b".repeat(64) + "/preview"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/images/" + hash + "/poster"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testRejectsNonImages() throws Exception {
+        mockMvc.perform(multipart("/images")
+                .file(new MockMultipartFile("file", "page.jpg", "image/jpeg", "<html></html>".getBytes())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testUnknownAndMalformedHashes() throws Exception {
+        mockMvc.perform(get("/images/" + "a".repeat(64)))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/images/not-a-hash"))
+                .andExpect(status().isBadRequest());
+    }
+}
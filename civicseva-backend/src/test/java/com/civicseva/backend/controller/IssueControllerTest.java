@@ -1,19 +1,46 @@
 package com.civicseva.backend.controller;
 
+import com.civicseva.backend.config.SecurityConfig;
 import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.CursorPageDto;
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.dto.IssueFilterDto;
+import com.civicseva.backend.dto.IssueSummaryDto;
+import com.civicseva.backend.dto.IssueUpdateDto;
+import com.civicseva.backend.exception.PreconditionFailedException;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueVersion;
+import com.civicseva.backend.service.IssueBulkImporter;
+import com.civicseva.backend.service.IssueExporter;
 import com.civicseva.backend.service.IssueService;
+import com.civicseva.backend.service.IssueView;
+import com.civicseva.backend.service.ResourceVersion;
+import com.civicseva.backend.service.Versioned;
+import com.civicseva.backend.stream.IssueEventBroadcaster;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(IssueController.class)
+@Import(SecurityConfig.class)
 public class IssueControllerTest {
 
     @Autowired
@@ -22,14 +49,215 @@ public class IssueControllerTest {
     @MockBean
     private IssueService issueService;
 
+    @MockBean
+    private IssueBulkImporter issueBulkImporter;
+
+    @MockBean
+    private IssueExporter issueExporter;
+
+    @MockBean
+    private IssueEventBroadcaster issueEventBroadcaster;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final ResourceVersion VERSION =
+            ResourceVersion.of(new IssueVersion(7L, 3L, LocalDateTime.of(2024, 7, 20, 10, 0)));
+
     @Test
     public void testGetAllIssues() throws Exception {
+        when(issueService.getVersionedIssuesPage(any(), any(), anyInt(), any()))
+                .thenReturn(new Versioned<>(new CursorPageDto<>(List.of(), "next"), VERSION));
+
+        mockMvc.perform(get("/issues")
+                .param("limit", "20")
+                .param("status", "Reported", "In Progress")
+                .param("category", "Pothole"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        ArgumentCaptor<IssueFilterDto> filter = ArgumentCaptor.forClass(IssueFilterDto.class);
+        verify(issueService).getVersionedIssuesPage(filter.capture(), isNull(), eq(20), eq(IssueView.FULL));
+        assertEquals(List.of("Reported", "In Progress"), filter.getValue().getStatus());
+        assertEquals(List.of("Pothole"), filter.getValue().getCategory());
+    }
+
+    @Test
+    public void testGetAllIssuesUnpaged() throws Exception {
+        when(issueService.searchVersionedIssues(any(), any())).thenReturn(new Versioned<>(List.of(), VERSION));
+
+        mockMvc.perform(get("/issues").param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    public void testGetAllIssuesSummaryView() throws Exception {
+        IssueSummaryDto summary = new IssueSummaryDto();
+        summary.setId("IS-7");
+        summary.setTitle("Pothole");
+        when(issueService.getVersionedIssueSummariesPage(any(), any(), anyInt()))
+                .thenReturn(new Versioned<>(new CursorPageDto<>(List.of(summary), null), VERSION));
+
+        mockMvc.perform(get("/issues").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.forView(IssueView.SUMMARY).getETag()))
+                .andExpect(jsonPath("$.items[0].id").value("IS-7"))
+                .andExpect(jsonPath("$.items[0].location").doesNotExist())
+                .andExpect(jsonPath("$.items[0].updates").doesNotExist());
+
+        verify(issueService, never()).getVersionedIssuesPage(any(), any(), anyInt(), any());
+        mockMvc.perform(get("/issues/IS-7").param("view", "summary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAllIssuesNotModified() throws Exception {
+        when(issueService.getIssuesPageVersion(any(), any(), anyInt())).thenReturn(VERSION);
+
+        mockMvc.perform(get("/issues").header(HttpHeaders.IF_NONE_MATCH, VERSION.getETag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, VERSION.getETag()));
+
+        verify(issueService, never()).getVersionedIssuesPage(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void testGetAllIssuesTagsUnconditionalRequestsFromThePage() throws Exception {
+        when(issueService.getVersionedIssuesPage(any(), any(), anyInt(), any()))
+                .thenReturn(new Versioned<>(new CursorPageDto<>(List.of(), null), VERSION));
+
         mockMvc.perform(get("/issues"))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.getETag()))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, VERSION.getLastModified() / 1000 * 1000));
+        verify(issueService, never()).getIssuesPageVersion(any(), any(), anyInt());
+
+    }
+
+    @Test
+    public void testGetAllIssuesTagsAModifiedResponseFromThePageItSends() throws Exception {
+        // A write lands between the version query and the page load
+        ResourceVersion checked = ResourceVersion.of(new IssueVersion(7L, 2L, LocalDateTime.of(2024, 7, 20, 9, 0)));
+        when(issueService.getIssuesPageVersion(any(), any(), anyInt())).thenReturn(checked);
+        when(issueService.getVersionedIssuesPage(any(), any(), anyInt(), any()))
+                .thenReturn(new Versioned<>(new CursorPageDto<>(List.of(), null), VERSION));
+
+        mockMvc.perform(get("/issues").header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, VERSION.getETag()))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, VERSION.getLastModified() / 1000 * 1000));
+    }
+
+    @Test
+    public void testGetIssueByIdSetsValidators() throws Exception {
+        IssueDto issue = new IssueDto();
+        issue.setId("IS-7");
+        when(issueService.getIssueVersion("IS-7")).thenReturn(Optional.of(VERSION));
+        when(issueService.getIssueById("IS-7", IssueView.FULL)).thenReturn(Optional.of(issue));
+
+        mockMvc.perform(get("/issues/IS-7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, VERSION.getETag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.id").value("IS-7"));
+    }
+
+    @Test
+    public void testGetIssueByIdNotModifiedSkipsLoading() throws Exception {
+        when(issueService.getIssueVersion("IS-7")).thenReturn(Optional.of(VERSION));
+
+        mockMvc.perform(get("/issues/IS-7").header(HttpHeaders.IF_NONE_MATCH, VERSION.getETag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(issueService, never()).getIssueById(any(), any());
+    }
+
+    @Test
+    public void testCompactViewHasItsOwnEntityTag() throws Exception {
+        IssueDto issue = new IssueDto();
+        issue.setId("IS-7");
+        issue.setUpdateCount(120L);
+        issue.setImageCount(2L);
+        when(issueService.getIssueVersion("IS-7")).thenReturn(Optional.of(VERSION));
+        when(issueService.getIssueById("IS-7", IssueView.COMPACT)).thenReturn(Optional.of(issue));
+
+        String compactTag = VERSION.forView(IssueView.COMPACT).getETag();
+        assertNotEquals(VERSION.getETag(), compactTag);
+        mockMvc.perform(get("/issues/IS-7").param("view", "compact"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, compactTag))
+                .andExpect(jsonPath("$.updateCount").value(120))
+                .andExpect(jsonPath("$.updates").doesNotExist());
+
+        mockMvc.perform(get("/issues/IS-7").param("view", "everything"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetIssueUpdatesPage() throws Exception {
+        IssueUpdateDto update = new IssueUpdateDto(LocalDateTime.of(2024, 7, 21, 9, 0), IssueStatus.IN_PROGRESS, "Crew dispatched");
+        when(issueService.getIssueUpdates("IS-7", "abc", 10))
+                .thenReturn(Optional.of(new CursorPageDto<>(List.of(update), "next")));
+        when(issueService.getIssueUpdates(eq("IS-404"), any(), anyInt())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/IS-7/updates").param("cursor", "abc").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].description").value("Crew dispatched"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+        mockMvc.perform(get("/issues/IS-404/updates"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testGetIssueByIdNotFound() throws Exception {
+        when(issueService.getIssueVersion("IS-404")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/IS-404"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testAssignPassesIfMatchAndReturnsNewTag() throws Exception {
+        IssueDto issue = new IssueDto();
+        issue.setId("IS-7");
+        issue.setVersion(4L);
+        when(issueService.assignIssueToDepartment("IS-7", "Public Works", "\"3\"")).thenReturn(Optional.of(issue));
+
+        mockMvc.perform(patch("/issues/IS-7/assign")
+                .param("department", "Public Works")
+                .header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    public void testStaleIfMatchIsPreconditionFailed() throws Exception {
+        when(issueService.updateIssueStatus(eq("IS-7"), eq("Resolved"), any(), any(), eq("\"3\"")))
+                .thenThrow(new PreconditionFailedException("Issue IS-7 has been modified"));
+
+        mockMvc.perform(patch("/issues/IS-7/status")
+                .param("status", "Resolved")
+                .header(HttpHeaders.IF_MATCH, "\"3\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    public void testGetNearestIssues() throws Exception {
+        when(issueService.getNearestIssues(anyDouble(), anyDouble(), anyInt(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/issues/nearest")
+                .param("latitude", "40.7128")
+                .param("longitude", "-74.0060")
+                .param("status", "Reported"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+
+        verify(issueService).getNearestIssues(40.7128, -74.0060, IssueService.DEFAULT_NEAREST_K, "Reported");
     }
 
     @Test
@@ -47,4 +275,22 @@ public class IssueControllerTest {
                 .content(objectMapper.writeValueAsString(createIssueDto)))
                 .andExpect(status().isCreated());
     }
+
+    @Test
+    public void testStreamRejectsWhenFull() throws Exception {
+        when(issueEventBroadcaster.subscribe(any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/issues/stream").param("category", "Pothole").param("bbox", "40.6,-74.1,40.8,-73.9"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+    }
+
+    @Test
+    public void testStreamOpensEventStream() throws Exception {
+        when(issueEventBroadcaster.subscribe(any())).thenReturn(Optional.of(new SseEmitter()));
+
+        mockMvc.perform(get("/issues/stream").param("department", "Public Works"))
+                .andExpect(request().asyncStarted());
+        verify(issueEventBroadcaster).subscribe(notNull());
+    }
 }
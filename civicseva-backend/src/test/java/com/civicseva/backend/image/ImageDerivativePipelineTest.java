@@ -0,0 +1,91 @@
+package com.civicseva.backend.image;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageDerivativePipelineTest {
+
+    @TempDir
+    Path directory;
+
+    private ImageStore store;
+    private ImageDerivativePipeline pipeline;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        store = new ImageStore();
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        store.init();
+
+        pipeline = new ImageDerivativePipeline();
+        ReflectionTestUtils.setField(pipeline, "imageStore", store);
+        ReflectionTestUtils.setField(pipeline, "workers", 1);
+        ReflectionTestUtils.setField(pipeline, "queueCapacity", 4);
+        pipeline.init();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        pipeline.shutdown();
+    }
+
+    @Test
+    public void testGenerateWritesScaledDerivatives() throws Exception {
+        StoredImage image = store.store(new ByteArrayInputStream(png(2000, 1000)));
+
+        assertTrue(pipeline.generate(image.getHash()));
+
+        BufferedImage thumbnail = ImageIO.read(store.derivativePath(image.getHash(), ImageDerivative.THUMBNAIL).toFile());
+        BufferedImage preview = ImageIO.read(store.derivativePath(image.getHash(), ImageDerivative.PREVIEW).toFile());
+        assertEquals(160, thumbnail.getWidth());
+        assertEquals(80, thumbnail.getHeight());
+        assertEquals(640, preview.getWidth());
+        assertEquals(320, preview.getHeight());
+    }
+
+    @Test
+    public void testSmallImagesAreNotUpscaled() throws Exception {
+        StoredImage image = store.store(new ByteArrayInputStream(png(100, 50)));
+
+        assertTrue(pipeline.generate(image.getHash()));
+
+        BufferedImage preview = ImageIO.read(store.derivativePath(image.getHash(), ImageDerivative.PREVIEW).toFile());
+        assertEquals(100, preview.getWidth());
+        assertEquals(50, preview.getHeight());
+    }
+
+    @Test
+    public void testSubmitRecordsCompletionAndLatency() throws Exception {
+        StoredImage image = store.store(new ByteArrayInputStream(png(800, 600)));
+
+        pipeline.submit(image.getHash());
+        pipeline.shutdown();
+
+        Map<String, Object> stats = pipeline.stats();
+        assertEquals(1L, stats.get("completed"));
+        assertEquals(0L, stats.get("failed"));
+        assertEquals(0, stats.get("queueDepth"));
+        assertTrue((Double) stats.get("maxLatencyMillis") > 0);
+        assertTrue(Files.exists(store.derivativePath(image.getHash(), ImageDerivative.THUMBNAIL)));
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,72 @@
+package com.civicseva.backend.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageStoreTest {
+
+    static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13, 'I', 'H', 'D', 'R'};
+
+    @TempDir
+    Path directory;
+
+    private ImageStore store;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        store = new ImageStore();
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        store.init();
+    }
+
+    @Test
+    public void testIdenticalContentIsStoredOnce() throws Exception {
+        StoredImage first = store.store(new ByteArrayInputStream(PNG));
+        StoredImage second = store.store(new ByteArrayInputStream(PNG));
+
+        assertFalse(first.isDuplicate());
+        assertTrue(second.isDuplicate());
+        assertEquals(first.getHash(), second.getHash());
+        assertEquals(ImageType.PNG, first.getType());
+        assertEquals(PNG.length, first.getSize());
+        assertEquals(1, countFiles());
+        assertEquals(directory.resolve(first.getHash().substring(0, 2)).resolve(first.getHash().substring(2, 4))
+                .resolve(first.getHash()), first.getPath());
+    }
+
+    @Test
+    public void testFindReturnsStoredImage() throws Exception {
+        StoredImage stored = store.store(new ByteArrayInputStream(PNG));
+
+        StoredImage found = store.find(stored.getHash()).orElseThrow();
+        assertEquals(stored.getPath(), found.getPath());
+        assertTrue(store.find("0".repeat(64)).isEmpty());
+    }
+
+    @Test
+    public void testNonImageIsRejectedAndNotKept() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> store.store(new ByteArrayInputStream("<html>not an image</html>".getBytes())));
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testMalformedHashIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> store.find("../../etc/passwd"));
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.civicseva.backend.metrics;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.statistics.IssueStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IssueMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IssueStatistics statistics = new IssueStatistics();
+    private IssueMetrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new IssueMetrics();
+        ReflectionTestUtils.setField(metrics, "registry", registry);
+        ReflectionTestUtils.setField(metrics, "issueStatistics", statistics);
+        ReflectionTestUtils.setField(metrics, "maxDepartments", 2);
+        metrics.init();
+    }
+
+    @Test
+    public void testLifecycleCountersAndBacklog() {
+        Issue issue = new Issue("Pothole", "Large pothole on Main St", 40.7, -74.0,
+                "Main St", IssueCategory.POTHOLE, "Pending Assignment");
+        issue.setId(1L);
+        IssueSnapshot created = IssueSnapshot.of(issue);
+        publish(IssueChangeEvent.created(created));
+
+        assertEquals(1.0, registry.get(IssueMetrics.CREATED).tag("category", "POTHOLE").counter().count());
+        assertEquals(1.0, backlog(IssueStatus.REPORTED, IssueCategory.POTHOLE));
+
+        issue.setDepartment("Public Works");
+        IssueSnapshot assigned = IssueSnapshot.of(issue);
+        publish(new IssueChangeEvent(IssueChangeEvent.Type.ASSIGNED, created, assigned));
+
+        issue.setStatus(IssueStatus.RESOLVED);
+        IssueSnapshot resolved = IssueSnapshot.of(issue);
+        publish(new IssueChangeEvent(IssueChangeEvent.Type.STATUS_CHANGED, assigned, resolved));
+
+        assertEquals(1.0, registry.get(IssueMetrics.ASSIGNED).tag("department", "Public Works").counter().count());
+        assertEquals(1.0, registry.get(IssueMetrics.RESOLVED)
+                .tag("category", "POTHOLE").tag("department", "Public Works").counter().count());
+        assertEquals(0.0, backlog(IssueStatus.REPORTED, IssueCategory.POTHOLE));
+        assertNull(registry.find(IssueMetrics.BACKLOG).tag("status", "RESOLVED").gauge());
+    }
+
+    @Test
+    public void testDepartmentTagsAreCapped() {
+        assertEquals("Public Works", metrics.departmentTag("Public Works"));
+        assertEquals("Sanitation", metrics.departmentTag(" Sanitation "));
+        assertEquals(IssueMetrics.OTHER_DEPARTMENT, metrics.departmentTag("Parks"));
+        assertEquals("Public Works", metrics.departmentTag("Public Works"));
+        assertEquals(IssueMetrics.NO_DEPARTMENT, metrics.departmentTag(null));
+    }
+
+    private void publish(IssueChangeEvent event) {
+        statistics.onIssueChange(event);
+        metrics.onIssueChange(event);
+    }
+
+    private double backlog(IssueStatus status, IssueCategory category) {
+        return registry.get(IssueMetrics.BACKLOG)
+                .tag("status", status.name()).tag("category", category.name()).gauge().value();
+    }
+}
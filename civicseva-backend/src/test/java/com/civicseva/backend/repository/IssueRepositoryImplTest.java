@@ -0,0 +1,103 @@
+package com.civicseva.backend.repository;
+
+import com.civicseva.backend.model.*;
+import com.civicseva.backend.pagination.Cursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class IssueRepositoryImplTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 7, 1, 0, 0);
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    public void setUp() {
+        persist("IS-A", IssueStatus.REPORTED, IssueCategory.POTHOLE, IssuePriority.HIGH, "Public Works", 0, 40.71, -74.00);
+        persist("IS-B", IssueStatus.IN_PROGRESS, IssueCategory.POTHOLE, IssuePriority.LOW, "Public Works", 1, 40.72, -74.01);
+        persist("IS-C", IssueStatus.REPORTED, IssueCategory.GRAFFITI, IssuePriority.HIGH, "Sanitation", 2, 40.73, -74.02);
+        persist("IS-D", IssueStatus.RESOLVED, IssueCategory.POTHOLE, IssuePriority.HIGH, "Public Works", 3, 51.50, -0.12);
+        persist("IS-E", IssueStatus.REPORTED, IssueCategory.POTHOLE, IssuePriority.HIGH, "Sanitation", 4, 40.74, -74.03);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testCombinesAllFacets() {
+        IssueQuery query = new IssueQuery();
+        query.setStatuses(Set.of(IssueStatus.REPORTED, IssueStatus.IN_PROGRESS));
+        query.setCategories(Set.of(IssueCategory.POTHOLE));
+        query.setPriorities(Set.of(IssuePriority.HIGH));
+
+        assertEquals(List.of("IS-E", "IS-A"), issueIds(issueRepository.findPage(query, null, 0)));
+
+        query.setDepartments(Set.of("Public Works"));
+        assertEquals(List.of("IS-A"), issueIds(issueRepository.findPage(query, null, 0)));
+    }
+
+    @Test
+    public void testTimeRangeAndBoundingBox() {
+        IssueQuery query = new IssueQuery();
+        query.setReportedFrom(BASE.plusDays(1));
+        query.setReportedTo(BASE.plusDays(4));
+        query.setMinLatitude(40.0);
+        query.setMaxLatitude(41.0);
+        query.setMinLongitude(-75.0);
+        query.setMaxLongitude(-73.0);
+
+        assertEquals(List.of("IS-C", "IS-B"), issueIds(issueRepository.findPage(query, null, 0)));
+    }
+
+    @Test
+    public void testKeysetPagesDoNotOverlap() {
+        IssueQuery query = new IssueQuery();
+        List<Issue> first = issueRepository.findPage(query, null, 2);
+        Issue last = first.get(first.size() - 1);
+        List<Issue> second = issueRepository.findPage(query, new Cursor(last.getReportedAt(), last.getId()), 2);
+
+        assertEquals(List.of("IS-E", "IS-D"), issueIds(first));
+        assertEquals(List.of("IS-C", "IS-B"), issueIds(second));
+    }
+
+    @Test
+    public void testSummaryPageMatchesFindPage() {
+        IssueQuery query = new IssueQuery();
+        query.setStatuses(Set.of(IssueStatus.REPORTED, IssueStatus.IN_PROGRESS));
+        List<IssueSummary> summaries = issueRepository.findSummaryPage(query, null, 2);
+
+        assertEquals(issueIds(issueRepository.findPage(query, null, 2)),
+                summaries.stream().map(IssueSummary::getIssueId).collect(Collectors.toList()));
+        assertNotNull(summaries.get(0).getStatus());
+    }
+
+    private void persist(String issueId, IssueStatus status, IssueCategory category, IssuePriority priority,
+                         String department, int day, double latitude, double longitude) {
+        Issue issue = new Issue("Issue " + issueId, "Description of " + issueId, latitude, longitude,
+                "Somewhere", category, department);
+        issue.setIssueId(issueId);
+        issue.setStatus(status);
+        issue.setPriority(priority);
+        issue.setReportedAt(BASE.plusDays(day));
+        issue.setChangeSeq((long) day);
+        entityManager.persist(issue);
+    }
+
+    private static List<String> issueIds(List<Issue> issues) {
+        return issues.stream().map(Issue::getIssueId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,127 @@
+package com.civicseva.backend.search;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.spatial.IssueSpatialIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IssueDuplicateDetectorTest {
+
+    private final IssueSpatialIndex spatialIndex = new IssueSpatialIndex();
+    private final IssueDuplicateDetector detector = new IssueDuplicateDetector();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(detector, "spatialIndex", spatialIndex);
+    }
+
+    @Test
+    public void testFindsSimilarOpenIssuesNearby() {
+        create(1L, "Huge potholes on Main Street", "Deep pothole damaging cars", 40.7128, -74.0060, IssueCategory.POTHOLE);
+        create(2L, "Pothole on Main St", "Big pothole in the road", 40.7130, -74.0062, IssueCategory.POTHOLE);
+        // Same text but another category, too far away, or unrelated
+        create(3L, "Pothole on Main St", "Big pothole in the road", 40.7128, -74.0060, IssueCategory.WATER_LEAK);
+        create(4L, "Pothole on Main St", "Big pothole in the road", 40.7300, -74.0060, IssueCategory.POTHOLE);
+        create(5L, "Broken bench", "Slats missing in the park", 40.7128, -74.0060, IssueCategory.POTHOLE);
+
+        List<DuplicateMatch> matches = detector.findDuplicates("Pothole on Main St", "Big pothole in the road",
+                IssueCategory.POTHOLE, 40.7129, -74.0061);
+
+        assertEquals(List.of(2L, 1L), ids(matches));
+        assertEquals(1.0, matches.get(0).getSimilarity());
+        assertTrue(matches.get(1).getSimilarity() < 1.0);
+        assertTrue(matches.get(0).getDistanceKm() < 0.05);
+    }
+
+    @Test
+    public void testIgnoresResolvedAndOldIssues() {
+        Issue issue = create(1L, "Streetlight out", "Lamp dark all night", 40.0, -74.0, IssueCategory.STREETLIGHT_OUTAGE);
+        Issue old = issue(2L, "Streetlight out", "Lamp dark all night", 40.0, -74.0, IssueCategory.STREETLIGHT_OUTAGE);
+        old.setReportedAt(LocalDateTime.now().minusDays(30));
+        publish(IssueChangeEvent.created(IssueSnapshot.of(old)));
+        assertEquals(List.of(1L), ids(find(IssueCategory.STREETLIGHT_OUTAGE, "Streetlight out", "Lamp dark all night")));
+
+        IssueSnapshot before = IssueSnapshot.of(issue);
+        issue.setStatus(IssueStatus.RESOLVED);
+        publish(new IssueChangeEvent(IssueChangeEvent.Type.STATUS_CHANGED, before, IssueSnapshot.of(issue)));
+
+        assertEquals(List.of(), ids(find(IssueCategory.STREETLIGHT_OUTAGE, "Streetlight out", "Lamp dark all night")));
+        assertEquals(1, detector.size());
+    }
+
+    @Test
+    public void testFollowsTextEdits() {
+        Issue issue = create(1L, "Graffiti on wall", "Spray paint on the library", 40.0, -74.0, IssueCategory.GRAFFITI);
+        assertEquals(1, find(IssueCategory.GRAFFITI, "Graffiti on library wall", "Spray paint").size());
+
+        IssueSnapshot before = IssueSnapshot.of(issue);
+        issue.setTitle("Overflowing bins");
+        issue.setDescription("Rubbish everywhere");
+        publish(new IssueChangeEvent(IssueChangeEvent.Type.UPDATED, before, IssueSnapshot.of(issue)));
+
+        assertEquals(0, find(IssueCategory.GRAFFITI, "Graffiti on library wall", "Spray paint").size());
+    }
+
+    @Test
+    public void testRebuildDropsIssuesDeletedAfterItsBatchWasRead() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        ReflectionTestUtils.setField(detector, "issueRepository", issueRepository);
+        Issue issue = create(1L, "Streetlight out", "Lamp dark all night", 40.0, -74.0, IssueCategory.STREETLIGHT_OUTAGE);
+        IssueSnapshot read = IssueSnapshot.of(issue);
+        when(issueRepository.findSearchDocuments(eq(Long.MIN_VALUE), any())).thenAnswer(invocation -> {
+            // The deletion commits after the batch holding the issue was read
+            detector.onIssueChange(IssueChangeEvent.deleted(read));
+            return List.of(IssueDocument.of(read));
+        });
+        when(issueRepository.findSearchDocuments(eq(1L), any())).thenReturn(List.of());
+
+        detector.rebuild();
+
+        assertEquals(0, detector.size());
+        assertEquals(List.of(), ids(find(IssueCategory.STREETLIGHT_OUTAGE, "Streetlight out", "Lamp dark all night")));
+    }
+
+    private List<DuplicateMatch> find(IssueCategory category, String title, String description) {
+        return detector.findDuplicates(title, description, category, 40.0, -74.0);
+    }
+
+    private Issue create(Long id, String title, String description, double latitude, double longitude,
+                         IssueCategory category) {
+        Issue issue = issue(id, title, description, latitude, longitude, category);
+        publish(IssueChangeEvent.created(IssueSnapshot.of(issue)));
+        return issue;
+    }
+
+    private static Issue issue(Long id, String title, String description, double latitude, double longitude,
+                               IssueCategory category) {
+        Issue issue = new Issue(title, description, latitude, longitude, "Main St", category, "Pending Assignment");
+        issue.setId(id);
+        issue.setReportedAt(LocalDateTime.now());
+        return issue;
+    }
+
+    private void publish(IssueChangeEvent event) {
+        spatialIndex.onIssueChange(event);
+        detector.onIssueChange(event);
+    }
+
+    private static List<Long> ids(List<DuplicateMatch> matches) {
+        return matches.stream().map(DuplicateMatch::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,144 @@
+package com.civicseva.backend.search;
+
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssuePriority;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IssueSearchIndexTest {
+
+    private final IssueSearchIndex index = new IssueSearchIndex();
+
+    @Test
+    public void testRequiresEveryTermAndRanksTitleMatchesFirst() {
+        index.put(document(1L, "Broken streetlight", "The lamp is out", "Main St"));
+        index.put(document(2L, "Pothole", "Deep pothole beside a dark streetlight", "Main St"));
+        index.put(document(3L, "Streetlight flickering", "Flickers all night", "Oak Road"));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("streetlight near Main St ", Set.of(), Set.of(), Set.of(), 10)));
+        assertEquals(List.of(3L), ids(index.search("flickering oak ", Set.of(), Set.of(), Set.of(), 10)));
+        assertEquals(0, index.search("streetlight elm ", Set.of(), Set.of(), Set.of(), 10).getTotal());
+    }
+
+    @Test
+    public void testLastTermMatchesAsPrefixWhileTyping() {
+        index.put(document(1L, "Streetlight out", "Dark corner", "Main St"));
+        index.put(document(2L, "Street flooding", "Water over the kerb", "Main St"));
+
+        assertEquals(Set.of(1L, 2L), Set.copyOf(ids(index.search("stree", Set.of(), Set.of(), Set.of(), 10))));
+        assertEquals(List.of(), ids(index.search("stree ", Set.of(), Set.of(), Set.of(), 10)));
+        // The exact term outranks its completions
+        assertEquals(List.of(2L, 1L), ids(index.search("street", Set.of(), Set.of(), Set.of(), 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("street* main", Set.of(), Set.of(), Set.of(), 10)));
+    }
+
+    @Test
+    public void testFiltersAndLimit() {
+        for (long id = 1; id <= 5; id++) {
+            index.put(new IssueDocument(id, "Overflowing bin " + id, "Rubbish on the pavement", "Park Lane",
+                    id % 2 == 0 ? IssueStatus.RESOLVED : IssueStatus.REPORTED, IssueCategory.WASTE_MANAGEMENT,
+                    id == 5 ? null : IssuePriority.HIGH));
+        }
+
+        SearchResults reported = index.search("bin", Set.of(IssueStatus.REPORTED), Set.of(), Set.of(), 2);
+        assertEquals(3, reported.getTotal());
+        assertEquals(2, reported.getHits().size());
+        assertTrue(reported.getHits().get(0).getScore() >= reported.getHits().get(1).getScore());
+
+        assertEquals(List.of(), ids(index.search("bin", Set.of(), Set.of(IssueCategory.POTHOLE), Set.of(), 10)));
+        assertEquals(4, index.search("bin", Set.of(), Set.of(), Set.of(IssuePriority.HIGH), 10).getTotal());
+    }
+
+    @Test
+    public void testFollowsCommittedChanges() {
+        Issue issue = new Issue("Graffiti on wall", "Spray paint on the library wall", 40.7, -74.0,
+                "Library Square", IssueCategory.GRAFFITI, "Pending Assignment");
+        issue.setId(7L);
+        IssueSnapshot created = IssueSnapshot.of(issue);
+        index.onIssueChange(IssueChangeEvent.created(created));
+        assertEquals(List.of(7L), ids(index.search("graffiti", Set.of(), Set.of(), Set.of(), 10)));
+
+        issue.setStatus(IssueStatus.IN_PROGRESS);
+        IssueSnapshot assigned = IssueSnapshot.of(issue);
+        index.onIssueChange(new IssueChangeEvent(IssueChangeEvent.Type.ASSIGNED, created, assigned));
+        assertEquals(1, index.search("graffiti", Set.of(IssueStatus.IN_PROGRESS), Set.of(), Set.of(), 10).getTotal());
+
+        issue.setTitle("Mural vandalised");
+        IssueSnapshot edited = IssueSnapshot.of(issue);
+        index.onIssueChange(new IssueChangeEvent(IssueChangeEvent.Type.UPDATED, assigned, edited));
+        assertEquals(List.of(7L), ids(index.search("mural", Set.of(), Set.of(), Set.of(), 10)));
+        assertEquals(0, index.search("graffiti", Set.of(), Set.of(), Set.of(), 10).getTotal());
+        assertEquals(1, index.size());
+
+        index.onIssueChange(IssueChangeEvent.deleted(edited));
+        assertEquals(0, index.search("mural", Set.of(), Set.of(), Set.of(), 10).getTotal());
+    }
+
+    @Test
+    public void testRebuildKeepsEditsCommittedAfterItsBatchWasRead() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        ReflectionTestUtils.setField(index, "issueRepository", issueRepository);
+        Issue issue = new Issue("Graffiti on wall", "Spray paint on the library wall", 40.7, -74.0,
+                "Library Square", IssueCategory.GRAFFITI, "Pending Assignment");
+        issue.setId(7L);
+        IssueSnapshot read = IssueSnapshot.of(issue);
+        issue.setTitle("Mural vandalised");
+        IssueSnapshot edited = IssueSnapshot.of(issue);
+        when(issueRepository.findSearchDocuments(eq(Long.MIN_VALUE), any())).thenAnswer(invocation -> {
+            // The edit commits after the batch holding the old text was read
+            index.onIssueChange(new IssueChangeEvent(IssueChangeEvent.Type.UPDATED, read, edited));
+            return List.of(IssueDocument.of(read));
+        });
+        when(issueRepository.findSearchDocuments(eq(7L), any())).thenReturn(List.of());
+
+        index.rebuild();
+
+        assertEquals(List.of(7L), ids(index.search("mural", Set.of(), Set.of(), Set.of(), 10)));
+        assertEquals(0, index.search("graffiti", Set.of(), Set.of(), Set.of(), 10).getTotal());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testPurgesRetiredDocuments() {
+        for (long id = 0; id < 2000; id++) {
+            index.put(document(id, "Issue " + id, "Original text", "Road " + id));
+        }
+        for (long id = 0; id < 1500; id++) {
+            index.put(document(id, "Issue " + id, "Edited text", "Road " + id));
+        }
+
+        assertEquals(2000, index.size());
+        assertEquals(1500, index.search("edited", Set.of(), Set.of(), Set.of(), 10).getTotal());
+        assertEquals(500, index.search("original", Set.of(), Set.of(), Set.of(), 10).getTotal());
+        assertEquals(List.of(1234L), ids(index.search("road 1234", Set.of(), Set.of(), Set.of(), 10)));
+    }
+
+    @Test
+    public void testTokenizerFoldsCaseAndAccents() {
+        assertEquals(List.of("cafe", "main", "st", "42b"), TextTokenizer.tokenize("Café near MAIN-St, #42b!"));
+    }
+
+    private static IssueDocument document(Long id, String title, String description, String address) {
+        return new IssueDocument(id, title, description, address, IssueStatus.REPORTED, IssueCategory.STREETLIGHT_OUTAGE,
+                IssuePriority.MEDIUM);
+    }
+
+    private static List<Long> ids(SearchResults results) {
+        return results.getHits().stream().map(SearchHit::getId).collect(Collectors.toList());
+    }
+}
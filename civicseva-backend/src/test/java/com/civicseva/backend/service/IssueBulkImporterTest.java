@@ -0,0 +1,119 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.repository.IssueRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"civicseva.bulk.batch-size=2", "spring.datasource.url=jdbc:h2:mem:bulk-importer-test"})
+class IssueBulkImporterTest {
+
+    private static final String VALID =
+            "{\"title\":\"Pothole %d\",\"description\":\"Large pothole near the bus stop\","
+            + "\"latitude\":12.97,\"longitude\":77.59,\"address\":\"MG Road\",\"category\":\"Pothole\"}";
+
+    @Autowired
+    private IssueBulkImporter importer;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @SpyBean
+    private IssueService issueService;
+
+    @Test
+    void ndjsonReportsEveryRecordInOrder() throws Exception {
+        long before = issueRepository.count();
+        String body = String.format(VALID, 1) + "\n"
+                + "{\"title\":\"\",\"description\":\"short\"}\n"
+                + String.format(VALID, 2) + "\n"
+                + VALID.replace("Pothole\"}", "Volcano\"}").formatted(3) + "\n"
+                + String.format(VALID, 4) + "\n"
+                + "{\"latitude\":\"north\"}\n"
+                + String.format(VALID, 5) + "\n";
+
+        List<JsonNode> results = run(body);
+
+        assertThat(results).extracting(r -> r.get("index").asInt()).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).filteredOn(r -> r.get("success").asBoolean()).hasSize(4)
+                .allSatisfy(r -> assertThat(r.get("issueId").asText()).startsWith("IS-"));
+        JsonNode invalid = results.stream().filter(r -> r.get("index").asInt() == 1).findFirst().orElseThrow();
+        assertThat(invalid.get("errors").has("title")).isTrue();
+        assertThat(invalid.get("errors").has("description")).isTrue();
+        JsonNode unknownCategory = results.stream().filter(r -> r.get("index").asInt() == 3).findFirst().orElseThrow();
+        assertThat(unknownCategory.get("errors").get("category").asText()).contains("Volcano");
+        assertThat(issueRepository.count()).isEqualTo(before + 4);
+    }
+
+    @Test
+    void jsonArrayIsAccepted() throws Exception {
+        long before = issueRepository.count();
+        String body = "[" + String.format(VALID, 1) + "," + String.format(VALID, 2) + "," + String.format(VALID, 3) + "]";
+
+        List<JsonNode> results = run(body);
+
+        assertThat(results).hasSize(3).allSatisfy(r -> assertThat(r.get("success").asBoolean()).isTrue());
+        assertThat(issueRepository.count()).isEqualTo(before + 3);
+    }
+
+    @Test
+    void failedBatchIsReportedAndLaterBatchesStillRun() throws Exception {
+        long before = issueRepository.count();
+        doThrow(new IllegalStateException("Index unavailable")).doCallRealMethod()
+                .when(issueService).createIssues(anyList());
+        String body = String.format(VALID, 1) + "\n" + String.format(VALID, 2) + "\n" + String.format(VALID, 3) + "\n";
+
+        List<JsonNode> results = run(body);
+
+        assertThat(results).extracting(r -> r.get("index").asInt()).containsExactly(0, 1, 2);
+        assertThat(results.subList(0, 2)).allSatisfy(r -> {
+            assertThat(r.get("success").asBoolean()).isFalse();
+            assertThat(r.get("errors").get("record").asText()).isEqualTo("Batch failed: Index unavailable");
+        });
+        assertThat(results.get(2).get("success").asBoolean()).isTrue();
+        assertThat(issueRepository.count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void malformedJsonStopsTheStreamAfterCommittingEarlierRecords() throws Exception {
+        long before = issueRepository.count();
+        String body = String.format(VALID, 1) + "\n{\"title\": oops\n" + String.format(VALID, 2);
+
+        List<JsonNode> results = run(body);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).get("success").asBoolean()).isTrue();
+        assertThat(results.get(1).get("success").asBoolean()).isFalse();
+        assertThat(issueRepository.count()).isEqualTo(before + 1);
+    }
+
+    private List<JsonNode> run(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        importer.importIssues(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,172 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.DeletedIssueDto;
+import com.civicseva.backend.dto.IssueChangesDto;
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.exception.ChangeTokenExpiredException;
+import com.civicseva.backend.model.IssueTombstone;
+import com.civicseva.backend.pagination.ChangeToken;
+import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.repository.IssueTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:change-sync-test")
+public class IssueChangeSyncTest {
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private IssueTombstoneRepository issueTombstoneRepository;
+
+    @Autowired
+    private IssueChangeSequence changeSequence;
+
+    @Autowired
+    private IssueTombstonePruner tombstonePruner;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testFullSyncThenDeltas() {
+        issueService.createIssue(issue("Seeded before the first sync"));
+
+        // Full sync in pages of two
+        List<String> synced = new ArrayList<>();
+        IssueChangesDto page = issueService.getChanges(null, 2);
+        synced.addAll(ids(page.getIssues()));
+        while (page.isHasMore()) {
+            assertEquals(2, page.getIssues().size() + page.getDeleted().size());
+            page = issueService.getChanges(page.getNextToken(), 2);
+            synced.addAll(ids(page.getIssues()));
+        }
+        assertEquals(issueRepository.count(), synced.size());
+        assertEquals(synced.size(), synced.stream().distinct().count());
+
+        // Nothing changed: the token keeps its position
+        String token = page.getNextToken();
+        IssueChangesDto idle = issueService.getChanges(token, 2);
+        assertTrue(idle.getIssues().isEmpty() && idle.getDeleted().isEmpty());
+        assertEquals(ChangeToken.decode(token).getSequence(), ChangeToken.decode(idle.getNextToken()).getSequence());
+
+        String kept = issueService.createIssue(issue("Kept")).getId();
+        String removed = issueService.createIssue(issue("Removed")).getId();
+        issueService.assignIssueToDepartment(kept, "Public Works", null);
+        issueService.deleteIssue(removed);
+
+        IssueChangesDto delta = issueService.getChanges(token, 10);
+        assertEquals(List.of(kept), ids(delta.getIssues()));
+        assertEquals("Public Works", delta.getIssues().get(0).getDepartment());
+        assertEquals(List.of(removed), delta.getDeleted().stream().map(DeletedIssueDto::getId).collect(Collectors.toList()));
+        assertFalse(delta.isHasMore());
+
+        IssueChangesDto caughtUp = issueService.getChanges(delta.getNextToken(), 10);
+        assertTrue(caughtUp.getIssues().isEmpty() && caughtUp.getDeleted().isEmpty());
+    }
+
+    @Test
+    public void testWriteCommittedAfterALaterWriteIsNotSkipped() throws Exception {
+        String token = syncFromScratch();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // The first writer keeps its transaction open while a second one writes and commits
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            String id = issueService.createIssue(issue("Committed last")).getId();
+            written.countDown();
+            await(release);
+            return id;
+        }));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        String fast = CompletableFuture.supplyAsync(() -> issueService.createIssue(issue("Committed first")).getId())
+                .get(5, TimeUnit.SECONDS);
+
+        IssueChangesDto first = issueService.getChanges(token, 10);
+        assertEquals(List.of(fast), ids(first.getIssues()));
+
+        release.countDown();
+        String late = slow.get(5, TimeUnit.SECONDS);
+        IssueChangesDto second = issueService.getChanges(first.getNextToken(), 10);
+        assertEquals(List.of(late), ids(second.getIssues()));
+        assertEquals(changeSequence.committedThrough(), ChangeToken.decode(second.getNextToken()).getSequence());
+    }
+
+    @Test
+    public void testPrunesOldTombstonesAndRejectsTokensBeyondRetention() {
+        String old = issueService.createIssue(issue("Removed long ago")).getId();
+        String recent = issueService.createIssue(issue("Removed today")).getId();
+        issueService.deleteIssue(old);
+        issueService.deleteIssue(recent);
+        IssueTombstone tombstone = issueTombstoneRepository.findById(old).orElseThrow();
+        tombstone.setDeletedAt(LocalDateTime.now().minusDays(365));
+        issueTombstoneRepository.save(tombstone);
+
+        tombstonePruner.prune();
+
+        assertFalse(issueTombstoneRepository.existsById(old));
+        assertTrue(issueTombstoneRepository.existsById(recent));
+        String stale = new ChangeToken(0, LocalDateTime.now().minusDays(365)).encode();
+        assertThrows(ChangeTokenExpiredException.class, () -> issueService.getChanges(stale, 10));
+        // Paging through a fresh full sync from sequence 0 is still allowed
+        String fresh = syncFromScratch();
+        assertDoesNotThrow(() -> issueService.getChanges(fresh, 10));
+    }
+
+    @Test
+    public void testRejectsMalformedToken() {
+        assertThrows(IllegalArgumentException.class, () -> issueService.getChanges("not-a-token", 10));
+        assertThrows(IllegalArgumentException.class, () -> issueService.getChanges(null, 0));
+    }
+
+    private String syncFromScratch() {
+        IssueChangesDto page = issueService.getChanges(null, 200);
+        while (page.isHasMore()) {
+            page = issueService.getChanges(page.getNextToken(), 200);
+        }
+        return page.getNextToken();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> ids(List<IssueDto> issues) {
+        return issues.stream().map(IssueDto::getId).collect(Collectors.toList());
+    }
+
+    private static CreateIssueDto issue(String title) {
+        CreateIssueDto dto = new CreateIssueDto();
+        dto.setTitle(title);
+        dto.setDescription("Issue created for the delta sync test");
+        dto.setLatitude(40.7);
+        dto.setLongitude(-74.0);
+        dto.setAddress("Main St, New York, NY");
+        dto.setCategory("Pothole");
+        return dto;
+    }
+}
@@ -0,0 +1,99 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.exception.PreconditionFailedException;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.repository.IssueUpdateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"civicseva.write.max-attempts=50", "spring.datasource.url=jdbc:h2:mem:concurrency-test"})
+public class IssueConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 10;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private IssueUpdateRepository issueUpdateRepository;
+
+    @Test
+    public void testConcurrentUnconditionalWritesLoseNoUpdates() throws Exception {
+        String issueId = createIssue().getId();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        if (i % 2 == 0) {
+                            issueService.assignIssueToDepartment(issueId, "Department " + thread, null);
+                        } else {
+                            issueService.updateIssueStatus(issueId, "In Progress", "Worker " + thread + " note " + i, null, null);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Issue issue = issueRepository.findByIssueId(issueId).orElseThrow();
+        int writes = THREADS * UPDATES_PER_THREAD;
+        // The initial "submitted" entry plus one per write
+        assertEquals(1 + writes, issueUpdateRepository.findByIssueIdIn(List.of(issue.getId())).size());
+        assertEquals(writes, issue.getVersion());
+    }
+
+    @Test
+    public void testIfMatchRejectsStaleTag() {
+        IssueDto created = createIssue();
+        String staleTag = ResourceVersion.eTag(created.getVersion());
+
+        IssueDto assigned = issueService.assignIssueToDepartment(created.getId(), "Public Works", staleTag).orElseThrow();
+        assertEquals(created.getVersion() + 1, assigned.getVersion());
+
+        assertThrows(PreconditionFailedException.class,
+                () -> issueService.updateIssueStatus(created.getId(), "Resolved", null, null, staleTag));
+        assertTrue(issueService.updateIssueStatus(created.getId(), "Resolved", null, null,
+                ResourceVersion.eTag(assigned.getVersion())).isPresent());
+        assertTrue(issueService.assignIssueToDepartment(created.getId(), "Sanitation", "*").isPresent());
+    }
+
+    private IssueDto createIssue() {
+        CreateIssueDto dto = new CreateIssueDto();
+        dto.setTitle("Contended issue");
+        dto.setDescription("Updated by many workers at once");
+        dto.setLatitude(12.97);
+        dto.setLongitude(77.59);
+        dto.setAddress("MG Road");
+        dto.setCategory("Pothole");
+        return issueService.createIssue(dto);
+    }
+}
@@ -0,0 +1,78 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.IssueFilterDto;
+import com.civicseva.backend.repository.IssueRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"civicseva.export.fetch-size=3", "spring.datasource.url=jdbc:h2:mem:exporter-test"})
+class IssueExporterTest {
+
+    @Autowired
+    private IssueExporter exporter;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ndjsonExportWritesOneLinePerIssue() throws Exception {
+        String[] lines = export(new IssueFilterDto(), IssueExporter.Format.NDJSON).split("\n");
+
+        assertThat(lines).hasSize((int) issueRepository.count());
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).startsWith("IS-");
+        assertThat(first.get("latitude").isNumber()).isTrue();
+    }
+
+    @Test
+    void csvExportAppliesFiltersAndQuotesFields() throws Exception {
+        CreateIssueDto dto = new CreateIssueDto();
+        dto.setTitle("Sign, bent \"badly\"");
+        dto.setDescription("Stop sign bent over\nafter a collision");
+        dto.setLatitude(12.9);
+        dto.setLongitude(77.6);
+        dto.setAddress("Junction 4");
+        dto.setCategory("Damaged Sign");
+        dto.setDepartment("Export Test Department");
+        String issueId = issueService.createIssue(dto).getId();
+
+        IssueFilterDto filter = new IssueFilterDto();
+        filter.setDepartment(List.of("Export Test Department"));
+        String csv = export(filter, IssueExporter.Format.CSV);
+
+        String[] rows = csv.split("\r\n");
+        assertThat(rows).hasSize(2);
+        assertThat(rows[0]).startsWith("id,title,description,status");
+        assertThat(rows[1]).startsWith(issueId + ",\"Sign, bent \"\"badly\"\"\",\"Stop sign bent over\nafter a collision\",Reported");
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        assertThatThrownBy(() -> IssueExporter.Format.fromParameter("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private String export(IssueFilterDto filter, IssueExporter.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(filter, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
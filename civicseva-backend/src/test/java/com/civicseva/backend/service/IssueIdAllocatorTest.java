@@ -0,0 +1,114 @@
+package com.civicseva.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A real one-connection pool: a block refill that needed a second connection would time out
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:id-allocator-test",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=1000"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(IssueIdAllocator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IssueIdAllocatorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 500;
+
+    @Autowired
+    private IssueIdAllocator allocator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testIdsAreUniqueAcrossThreads() throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        assertTrue(ids.add(allocator.nextIssueId()), "duplicate id");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.matches("IS-\\d{6,}")));
+    }
+
+    @Test
+    public void testRestartNeverReusesReservedValues() {
+        long before = allocator.nextValue();
+        allocator.discardBlock();
+        long after = allocator.nextValue();
+
+        // The abandoned block is skipped and a fresh one starts on a block boundary
+        assertTrue(after > before);
+        assertEquals(0, (after - 100000) % IssueIdAllocator.BLOCK_SIZE);
+    }
+
+    @Test
+    public void testRefillsOnTheCallersConnectionInsideItsTransaction() {
+        allocator.discardBlock();
+        List<Long> values = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Long> drawn = new ArrayList<>();
+            for (int i = 0; i < 3 * IssueIdAllocator.BLOCK_SIZE; i++) {
+                drawn.add(allocator.nextValue());
+            }
+            return drawn;
+        });
+
+        assertEquals(3 * IssueIdAllocator.BLOCK_SIZE, Set.copyOf(values).size());
+    }
+
+    @Test
+    public void testDrawsBlocksFromTheTableWithoutSequences() {
+        // As on a database without sequences; the table path takes its own connection, so no transaction is open here
+        String nextBlockSql = (String) ReflectionTestUtils.getField(allocator, "nextBlockSql");
+        ReflectionTestUtils.setField(allocator, "nextBlockSql", null);
+        try {
+            allocator.discardBlock();
+            List<Long> values = new ArrayList<>();
+            for (int i = 0; i < 3 * IssueIdAllocator.BLOCK_SIZE; i++) {
+                values.add(allocator.nextValue());
+            }
+            allocator.discardBlock();
+            long afterRestart = allocator.nextValue();
+
+            assertEquals(IssueIdAllocator.INITIAL_VALUE, values.get(0));
+            assertEquals(3 * IssueIdAllocator.BLOCK_SIZE, Set.copyOf(values).size());
+            assertEquals(IssueIdAllocator.INITIAL_VALUE + 3 * IssueIdAllocator.BLOCK_SIZE, afterRestart);
+        } finally {
+            ReflectionTestUtils.setField(allocator, "nextBlockSql", nextBlockSql);
+            allocator.discardBlock();
+        }
+    }
+}
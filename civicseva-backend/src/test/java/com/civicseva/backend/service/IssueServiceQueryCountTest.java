@@ -0,0 +1,169 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.cache.IssueCache;
+import com.civicseva.backend.dto.IssueFilterDto;
+import com.civicseva.backend.model.*;
+import com.civicseva.backend.search.IssueDuplicateDetector;
+import com.civicseva.backend.search.IssueSearchIndex;
+import com.civicseva.backend.spatial.IssueSpatialIndex;
+import com.civicseva.backend.statistics.IssueStatistics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({IssueService.class, IssueIdAllocator.class, IssueChangeSequence.class, IssueTombstonePruner.class,
+        IssueSpatialIndex.class, IssueSearchIndex.class, IssueDuplicateDetector.class, IssueStatistics.class,
+        IssueCache.class})
+public class IssueServiceQueryCountTest {
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueSpatialIndex spatialIndex;
+
+    @Autowired
+    private IssueCache issueCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int seeded;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void testPagedListStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesPage(new IssueFilterDto(), null, 100).getItems().size());
+    }
+
+    @Test
+    public void testPagedListByStatusStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesPage(filter(f -> f.setStatus(List.of("Reported"))), null, 100).getItems().size());
+    }
+
+    @Test
+    public void testPagedListByCategoryStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesPage(filter(f -> f.setCategory(List.of("Pothole"))), null, 100).getItems().size());
+    }
+
+    @Test
+    public void testPagedListByDepartmentStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesPage(filter(f -> f.setDepartment(List.of("Public Works"))), null, 100).getItems().size());
+    }
+
+    @Test
+    public void testPagedListWithCombinedFiltersStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesPage(filter(f -> {
+            f.setStatus(List.of("Reported", "In Progress"));
+            f.setCategory(List.of("Pothole"));
+            f.setPriority(List.of("Medium"));
+            f.setDepartment(List.of("Public Works"));
+        }), null, 100).getItems().size());
+    }
+
+    @Test
+    public void testCompactPageStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesPage(new IssueFilterDto(), null, 100, IssueView.COMPACT).getItems().size(), 4);
+    }
+
+    @Test
+    public void testSummaryPageIsASingleStatement() {
+        assertFlat(() -> issueService.getIssueSummariesPage(new IssueFilterDto(), null, 100).getItems().size(), 1);
+    }
+
+    @Test
+    public void testLoadedListsCarryTheTagsOfTheVersionQuery() {
+        seed(5);
+        IssueFilterDto filter = new IssueFilterDto();
+
+        ResourceVersion page = issueService.getIssuesPageVersion(filter, null, 3);
+        assertSameValidators(page, issueService.getVersionedIssuesPage(filter, null, 3, IssueView.FULL).getVersion());
+        assertSameValidators(page, issueService.getVersionedIssueSummariesPage(filter, null, 3).getVersion());
+
+        ResourceVersion all = issueService.getIssuesVersion(filter);
+        assertSameValidators(all, issueService.searchVersionedIssues(filter, IssueView.FULL).getVersion());
+        assertSameValidators(all, issueService.searchVersionedIssueSummaries(filter).getVersion());
+        assertNotEquals(page.getETag(), all.getETag());
+    }
+
+    @Test
+    public void testGetIssuesNearLocationStatementCountIsFlat() {
+        assertFlat(() -> issueService.getIssuesNearLocation(40.7128, -74.0060, 5.0).size());
+    }
+
+    private static IssueFilterDto filter(Consumer<IssueFilterDto> customizer) {
+        IssueFilterDto filter = new IssueFilterDto();
+        customizer.accept(filter);
+        return filter;
+    }
+
+    private void assertFlat(Supplier<Integer> call) {
+        assertFlat(call, 3);
+    }
+
+    private void assertFlat(Supplier<Integer> call, int maxStatements) {
+        long small = countStatements(5, call);
+        long large = countStatements(60, call);
+        assertEquals(small, large, "statement count should not grow with the number of issues");
+        assertTrue(large <= maxStatements, "expected at most " + maxStatements + " statements, was " + large);
+    }
+
+    private static void assertSameValidators(ResourceVersion expected, ResourceVersion actual) {
+        assertEquals(expected.getETag(), actual.getETag());
+        assertEquals(expected.getLastModified(), actual.getLastModified());
+    }
+
+    private long countStatements(int total, Supplier<Integer> call) {
+        seed(total);
+
+        statistics.clear();
+        int returned = call.get();
+        assertEquals(total, returned);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int total) {
+        while (seeded < total) {
+            persistIssue(seeded++);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        spatialIndex.rebuild();
+        // Rows are persisted directly, without change events, so drop cached lists
+        issueCache.invalidateAll();
+    }
+
+    private void persistIssue(int n) {
+        Issue issue = new Issue("Issue " + n, "Description for issue " + n, 40.7128, -74.0060,
+                "Main St", IssueCategory.POTHOLE, "Public Works");
+        issue.setIssueId("IS-T" + n);
+        issue.setChangeSeq((long) n + 1);
+        issue.setReportedAt(LocalDateTime.of(2024, 7, 1, 0, 0).plusMinutes(n));
+        issue.addUpdate(new IssueUpdate(IssueStatus.REPORTED, "Issue submitted by citizen.", issue));
+        issue.addUpdate(new IssueUpdate(IssueStatus.REPORTED, "Details added.", issue));
+        issue.addImage(new IssueImage("https://example.com/" + n + ".jpg", "Before", issue));
+        entityManager.persist(issue);
+    }
+}
@@ -0,0 +1,120 @@
+package com.civicseva.backend.service;
+
+import com.civicseva.backend.dto.CreateIssueDto;
+import com.civicseva.backend.dto.CursorPageDto;
+import com.civicseva.backend.dto.IssueDto;
+import com.civicseva.backend.dto.IssueImageDto;
+import com.civicseva.backend.dto.IssueUpdateDto;
+import com.civicseva.backend.model.IssueUpdate;
+import com.civicseva.backend.repository.IssueRepository;
+import com.civicseva.backend.repository.IssueUpdateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:timeline-test")
+public class IssueTimelineTest {
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private IssueUpdateRepository issueUpdateRepository;
+
+    @Test
+    public void testUpdatesArePagedNewestFirst() {
+        String issueId = createIssueWithHistory(5);
+
+        List<String> descriptions = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDto<IssueUpdateDto> page = issueService.getIssueUpdates(issueId, cursor, 2).orElseThrow();
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(update -> descriptions.add(update.getDescription()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("Note 4", "Note 3", "Note 2", "Note 1", "Note 0", "Issue submitted by citizen."),
+                descriptions);
+    }
+
+    @Test
+    public void testImagesArePagedOldestFirst() {
+        String issueId = createIssueWithHistory(3);
+
+        CursorPageDto<IssueImageDto> first = issueService.getIssueImages(issueId, null, 2).orElseThrow();
+        CursorPageDto<IssueImageDto> second = issueService.getIssueImages(issueId, first.getNextCursor(), 2).orElseThrow();
+
+        assertEquals(List.of("Before", "After"), captions(first));
+        assertEquals(List.of("After", "After"), captions(second));
+        assertNull(second.getNextCursor());
+        assertTrue(issueService.getIssueUpdates("IS-MISSING", null, 2).isEmpty());
+    }
+
+    @Test
+    public void testCompactViewCarriesLatestUpdateAndCounts() {
+        String issueId = createIssueWithHistory(5);
+
+        IssueDto compact = issueService.getIssueById(issueId, IssueView.COMPACT).orElseThrow();
+        assertNull(compact.getUpdates());
+        assertNull(compact.getImages());
+        assertEquals("Note 4", compact.getLatestUpdate().getDescription());
+        assertEquals(6L, compact.getUpdateCount());
+        assertEquals(6L, compact.getImageCount());
+
+        IssueDto full = issueService.getIssueById(issueId, IssueView.FULL).orElseThrow();
+        assertEquals(6, full.getUpdates().size());
+        assertNull(full.getLatestUpdate());
+    }
+
+    @Test
+    public void testLatestUpdateFollowsTimestampNotId() {
+        String issueId = createIssueWithHistory(3);
+        Long id = issueRepository.findByIssueId(issueId).orElseThrow().getId();
+        // Pooled sequences can give a later update a lower id; simulate that by moving an early note forward
+        IssueUpdate early = issueUpdateRepository.findByIssueIdOrderByTimestampDesc(id, Limit.unlimited()).stream()
+                .filter(update -> update.getDescription().equals("Note 0"))
+                .findFirst().orElseThrow();
+        early.setTimestamp(LocalDateTime.now().plusHours(1));
+        issueUpdateRepository.save(early);
+
+        IssueDto compact = issueService.getIssueById(issueId, IssueView.COMPACT).orElseThrow();
+        assertEquals("Note 0", compact.getLatestUpdate().getDescription());
+    }
+
+    // One initial update and "Before" image, then one status update with an "After" photo per note
+    private String createIssueWithHistory(int notes) {
+        CreateIssueDto dto = new CreateIssueDto();
+        dto.setTitle("Streetlight flickering");
+        dto.setDescription("The streetlight outside number 12 flickers all night");
+        dto.setLatitude(40.7);
+        dto.setLongitude(-74.0);
+        dto.setAddress("Main St, New York, NY");
+        dto.setCategory("Streetlight Outage");
+        dto.setImageUrl("https://example.com/before.jpg");
+        String issueId = issueService.createIssue(dto).getId();
+        for (int i = 0; i < notes; i++) {
+            issueService.updateIssueStatus(issueId, "In Progress", "Note " + i, "https://example.com/after-" + i + ".jpg", null);
+        }
+        return issueId;
+    }
+
+    private static List<String> captions(CursorPageDto<IssueImageDto> page) {
+        return page.getItems().stream().map(IssueImageDto::getCaption).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.civicseva.backend.spatial;
+
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IssueSpatialIndexTest {
+
+    private final IssueSpatialIndex index = new IssueSpatialIndex();
+
+    @Test
+    public void testWithinRadiusSortsByDistance() {
+        index.put(location(1L, 40.7128, -74.0060));   // origin
+        index.put(location(2L, 40.7088, -74.0090));   // ~0.5 km
+        index.put(location(3L, 40.7739, -73.9650));   // ~7.7 km
+        index.put(location(4L, 51.5074, -0.1278));    // London
+
+        List<Long> ids = ids(index.withinRadius(40.7128, -74.0060, 10.0, location -> true));
+
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    public void testUsesTrueDistanceForLongitude() {
+        // At 60N one degree of longitude is ~55.6 km, not 111 km
+        index.put(location(1L, 60.0, 10.0));
+        index.put(location(2L, 60.0, 11.0));
+
+        assertEquals(List.of(1L, 2L), ids(index.withinRadius(60.0, 10.0, 60.0, location -> true)));
+        assertEquals(List.of(1L), ids(index.withinRadius(60.0, 10.0, 50.0, location -> true)));
+    }
+
+    @Test
+    public void testWrapsAcrossAntimeridian() {
+        index.put(location(1L, 0.0, 179.999));
+        index.put(location(2L, 0.0, -179.999));
+
+        assertEquals(2, index.withinRadius(0.0, 180.0, 1.0, location -> true).size());
+    }
+
+    @Test
+    public void testMoveAndRemove() {
+        index.put(location(1L, 40.7128, -74.0060));
+        index.put(location(1L, 51.5074, -0.1278));
+
+        assertTrue(index.withinRadius(40.7128, -74.0060, 1.0, location -> true).isEmpty());
+        assertEquals(1, index.withinRadius(51.5074, -0.1278, 1.0, location -> true).size());
+
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertTrue(index.withinRadius(51.5074, -0.1278, 1.0, location -> true).isEmpty());
+    }
+
+    @Test
+    public void testAppliesFilter() {
+        index.put(location(1L, 40.7128, -74.0060));
+        index.put(new IssueLocation(2L, 40.7129, -74.0061, IssueStatus.RESOLVED,
+                IssueCategory.POTHOLE, LocalDateTime.now()));
+
+        List<Long> ids = ids(index.withinRadius(40.7128, -74.0060, 1.0,
+                location -> location.getStatus() != IssueStatus.RESOLVED));
+
+        assertEquals(List.of(1L), ids);
+    }
+
+    private static IssueLocation location(Long id, double latitude, double longitude) {
+        return new IssueLocation(id, latitude, longitude, IssueStatus.REPORTED,
+                IssueCategory.POTHOLE, LocalDateTime.now());
+    }
+
+    private static List<Long> ids(List<Neighbor> neighbors) {
+        return neighbors.stream().map(n -> n.getLocation().getId()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testNearestMatchesBruteForce() {
+        Random random = new Random(42);
+        List<IssueLocation> all = new java.util.ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            // A dense city cluster plus sparse points spread over the globe
+            IssueLocation location = id % 4 == 0
+                    ? location(id, random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180)
+                    : location(id, 40.7 + random.nextDouble() * 0.2, -74.1 + random.nextDouble() * 0.2);
+            all.add(location);
+            index.put(location);
+        }
+
+        double[][] queries = { {40.75, -74.0}, {-33.86, 151.2}, {89.9, 0.0}, {0.0, 179.99} };
+        for (double[] query : queries) {
+            List<Long> expected = all.stream()
+                    .sorted(Comparator.comparingDouble(l ->
+                            GeoMath.haversineKm(query[0], query[1], l.getLatitude(), l.getLongitude())))
+                    .limit(20)
+                    .map(IssueLocation::getId)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected, ids(index.nearest(query[0], query[1], 20, location -> true)));
+        }
+    }
+
+    @Test
+    public void testNearestAppliesFilterAndHandlesFewerThanK() {
+        index.put(location(1L, 40.7128, -74.0060));
+        index.put(new IssueLocation(2L, 40.7129, -74.0061, IssueStatus.RESOLVED,
+                IssueCategory.POTHOLE, LocalDateTime.now()));
+        index.put(location(3L, 51.5074, -0.1278));
+
+        List<Long> ids = ids(index.nearest(40.7128, -74.0060, 20,
+                location -> location.getStatus() == IssueStatus.REPORTED));
+
+        assertEquals(List.of(1L, 3L), ids);
+    }
+
+    @Test
+    public void testMinDistanceToCell() {
+        long key = IssueSpatialIndex.cellKey(40.7128, -74.0060);
+        int latCell = (int) (key >> 32);
+        int lonCell = (int) key;
+
+        assertEquals(0.0, IssueSpatialIndex.minDistanceKm(40.7128, -74.0060, latCell, lonCell), 1e-9);
+        assertEquals(0.0, IssueSpatialIndex.minDistanceKm(40.71, -74.0, latCell, lonCell), 1e-6);
+        assertTrue(IssueSpatialIndex.minDistanceKm(40.7128, -73.0, latCell, lonCell) > 80);
+    }
+}
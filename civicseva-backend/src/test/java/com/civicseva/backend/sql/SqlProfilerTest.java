@@ -0,0 +1,116 @@
+package com.civicseva.backend.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlProfilerTest {
+
+    private SqlProfiler profiler;
+    private DataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        // Zero threshold: every statement is captured as slow
+        profiler = new SqlProfiler(Duration.ZERO, 2, 10, true);
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:sql-profiler-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource = ProxyDataSourceBuilder.create(h2).listener(profiler).build();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE issues (id BIGINT PRIMARY KEY, title VARCHAR(100))");
+        }
+        profiler.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCapturesSlowStatementsWithParameters() throws Exception {
+        insert(1, "Pothole");
+        insert(2, "Graffiti");
+        insert(3, null);
+
+        Map<String, Object> stats = profiler.stats();
+        assertEquals(3L, stats.get("statements"));
+
+        // The ring buffer keeps only the newest two
+        List<SlowStatement> slow = (List<SlowStatement>) stats.get("slowStatements");
+        assertEquals(2, slow.size());
+        assertTrue(slow.stream().anyMatch(statement -> statement.getParameters().equals(List.of(List.of("2", "Graffiti")))));
+        assertTrue(slow.stream().anyMatch(statement -> statement.getParameters().get(0).get(1) == null));
+        assertTrue(slow.get(0).getMillis() >= slow.get(1).getMillis());
+
+        List<Map<String, Object>> top = (List<Map<String, Object>>) stats.get("topStatements");
+        assertEquals(1, top.size());
+        assertEquals(3L, top.get(0).get("executions"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMasksParametersByDefault() throws Exception {
+        profiler = new SqlProfiler(Duration.ZERO, 2, 10, false);
+        dataSource = ProxyDataSourceBuilder.create(dataSource).listener(profiler).build();
+        insert(1, "Pothole outside 12 Main St");
+        insert(2, null);
+
+        List<SlowStatement> slow = (List<SlowStatement>) profiler.stats().get("slowStatements");
+        assertTrue(slow.stream().anyMatch(statement -> statement.getParameters().equals(List.of(List.of("?", "?")))));
+        assertTrue(slow.stream().anyMatch(statement -> statement.getParameters().get(0).get(1) == null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCountsStatementsPerRequestPattern() throws Exception {
+        SqlProfilingFilter filter = new SqlProfilingFilter(profiler);
+        for (int i = 0; i < 2; i++) {
+            long id = 10 + 2 * i;
+            filter.doFilter(new MockHttpServletRequest("POST", "/issues"), new MockHttpServletResponse(), (request, response) -> {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/issues");
+                try {
+                    insert(id, "First");
+                    insert(id + 1, "Second");
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        // Outside a request: counted in the totals only
+        insert(99, "Background");
+
+        Map<String, Map<String, Object>> requests = (Map<String, Map<String, Object>>) profiler.stats().get("requests");
+        Map<String, Object> endpoint = requests.get("POST /issues");
+        assertEquals(2L, endpoint.get("requests"));
+        assertEquals(4L, endpoint.get("statements"));
+        assertEquals(2L, endpoint.get("maxStatements"));
+        assertEquals(5L, profiler.stats().get("statements"));
+    }
+
+    private void insert(long id, String title) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("INSERT INTO issues (id, title) VALUES (?, ?)")) {
+            statement.setLong(1, id);
+            if (title != null) {
+                statement.setString(2, title);
+            } else {
+                statement.setNull(2, Types.VARCHAR);
+            }
+            statement.executeUpdate();
+        }
+    }
+}
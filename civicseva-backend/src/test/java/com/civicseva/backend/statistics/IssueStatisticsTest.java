@@ -0,0 +1,89 @@
+package com.civicseva.backend.statistics;
+
+import com.civicseva.backend.dto.IssueStatisticsDto;
+import com.civicseva.backend.event.IssueChangeEvent;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import com.civicseva.backend.model.IssueStatus;
+import com.civicseva.backend.repository.IssueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IssueStatisticsTest {
+
+    private final IssueStatistics statistics = new IssueStatistics();
+
+    @Test
+    public void testCountsFollowIssueLifecycle() {
+        Issue issue = new Issue("Pothole", "Large pothole on Main St", 40.7, -74.0,
+                "Main St", IssueCategory.POTHOLE, "Pending Assignment");
+        issue.setId(1L);
+        IssueSnapshot created = IssueSnapshot.of(issue);
+        statistics.onIssueChange(IssueChangeEvent.created(created));
+
+        issue.setDepartment("Public Works");
+        issue.setStatus(IssueStatus.IN_PROGRESS);
+        IssueSnapshot assigned = IssueSnapshot.of(issue);
+        statistics.onIssueChange(new IssueChangeEvent(IssueChangeEvent.Type.ASSIGNED, created, assigned));
+
+        IssueStatisticsDto stats = statistics.snapshot();
+        assertEquals(0L, stats.getStatusCounts().get("Reported"));
+        assertEquals(1L, stats.getStatusCounts().get("In Progress"));
+        assertEquals(1L, stats.getCategoryCounts().get("Pothole"));
+        assertEquals(1L, stats.getDepartmentCounts().get("Public Works"));
+        assertFalse(stats.getDepartmentCounts().containsKey("Pending Assignment"));
+        assertEquals(1L, stats.getStatusCategoryCounts().get("In Progress").get("Pothole"));
+
+        statistics.onIssueChange(IssueChangeEvent.deleted(assigned));
+        assertEquals(0L, statistics.getStatusCount(IssueStatus.IN_PROGRESS));
+        assertEquals(0L, statistics.getCategoryCount(IssueCategory.POTHOLE));
+    }
+
+    @Test
+    public void testRebuildKeepsEventsThatArriveDuringTheAggregate() {
+        IssueRepository issueRepository = mock(IssueRepository.class);
+        ReflectionTestUtils.setField(statistics, "issueRepository", issueRepository);
+        // Stale counts from before the rebuild are replaced, not added to
+        statistics.onIssueChange(IssueChangeEvent.created(IssueSnapshot.of(issue(1L, IssueCategory.GRAFFITI))));
+
+        IssueSnapshot committedDuringQuery = IssueSnapshot.of(issue(2L, IssueCategory.POTHOLE));
+        when(issueRepository.countGroupedByStatusCategoryAndDepartment()).thenAnswer(invocation -> {
+            statistics.onIssueChange(IssueChangeEvent.created(committedDuringQuery));
+            // The aggregate's snapshot was taken before that commit
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(new Object[] {IssueStatus.REPORTED, IssueCategory.POTHOLE, "Public Works", 3L});
+            return rows;
+        });
+
+        statistics.rebuild();
+
+        assertEquals(4L, statistics.getCount(IssueStatus.REPORTED, IssueCategory.POTHOLE));
+        assertEquals(0L, statistics.getCategoryCount(IssueCategory.GRAFFITI));
+        assertEquals(3L, statistics.snapshot().getDepartmentCounts().get("Public Works"));
+
+        statistics.onIssueChange(IssueChangeEvent.deleted(committedDuringQuery));
+        assertEquals(3L, statistics.getStatusCount(IssueStatus.REPORTED));
+    }
+
+    @Test
+    public void testSnapshotListsEveryEnumValue() {
+        IssueStatisticsDto stats = statistics.snapshot();
+
+        assertEquals(IssueStatus.values().length, stats.getStatusCounts().size());
+        assertEquals(IssueCategory.values().length, stats.getCategoryCounts().size());
+    }
+
+    private static Issue issue(Long id, IssueCategory category) {
+        Issue issue = new Issue("Issue " + id, "Description " + id, 40.7, -74.0, "Main St", category, "Pending Assignment");
+        issue.setId(id);
+        return issue;
+    }
+}
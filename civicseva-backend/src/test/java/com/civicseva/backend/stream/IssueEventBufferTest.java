@@ -0,0 +1,67 @@
+package com.civicseva.backend.stream;
+
+import com.civicseva.backend.dto.IssueEventDto;
+import com.civicseva.backend.event.IssueSnapshot;
+import com.civicseva.backend.model.Issue;
+import com.civicseva.backend.model.IssueCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IssueEventBufferTest {
+
+    @Test
+    public void testCoalescesByIssueKeepingCreation() {
+        IssueEventBuffer buffer = new IssueEventBuffer(10);
+        assertEquals(IssueEventBuffer.Outcome.QUEUED, buffer.offer(event(1, "IS-1", "CREATED")));
+        buffer.offer(event(2, "IS-2", "CREATED"));
+        assertEquals(IssueEventBuffer.Outcome.COALESCED, buffer.offer(event(3, "IS-1", "STATUS_CHANGED")));
+        buffer.offer(event(4, "IS-2", "DELETED"));
+
+        IssueEventBuffer.Batch batch = buffer.drain();
+        assertEquals(1, batch.events.size());
+        IssueEventDto only = batch.events.get(0);
+        assertEquals("IS-1", only.getIssueId());
+        assertEquals("CREATED", only.getType());
+        assertEquals(3, only.getSequence());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void testOverflowDropsOldestAndReportsIt() {
+        IssueEventBuffer buffer = new IssueEventBuffer(2);
+        buffer.offer(event(1, "IS-1", "UPDATED"));
+        buffer.offer(event(2, "IS-2", "UPDATED"));
+        assertEquals(IssueEventBuffer.Outcome.DROPPED_OLDEST, buffer.offer(event(3, "IS-3", "UPDATED")));
+
+        IssueEventBuffer.Batch batch = buffer.drain();
+        assertEquals(List.of("IS-2", "IS-3"), batch.events.stream().map(IssueEventDto::getIssueId).toList());
+        assertEquals(1, batch.dropped);
+        assertEquals(0, buffer.drain().dropped);
+    }
+
+    @Test
+    public void testFilterMatchesDepartmentCategoryAndBoundingBox() {
+        Issue issue = new Issue("Pothole", "Large pothole on Main St", 40.7, -74.0,
+                "Main St", IssueCategory.POTHOLE, "Public Works");
+        IssueSnapshot snapshot = IssueSnapshot.of(issue);
+
+        assertTrue(IssueStreamFilter.ALL.matches(snapshot));
+        assertTrue(IssueStreamFilter.of("public works", "Pothole", "40.6,-74.1,40.8,-73.9").matches(snapshot));
+        assertFalse(IssueStreamFilter.of("Sanitation", null, null).matches(snapshot));
+        assertFalse(IssueStreamFilter.of(null, "Graffiti", null).matches(snapshot));
+        assertFalse(IssueStreamFilter.of(null, null, "41,-74.1,42,-73.9").matches(snapshot));
+        assertThrows(IllegalArgumentException.class, () -> IssueStreamFilter.of(null, null, "1,2,3"));
+        assertThrows(IllegalArgumentException.class, () -> IssueStreamFilter.of(null, "Volcano", null));
+    }
+
+    private static IssueEventDto event(long sequence, String issueId, String type) {
+        IssueEventDto event = new IssueEventDto();
+        event.setSequence(sequence);
+        event.setIssueId(issueId);
+        event.setType(type);
+        return event;
+    }
+}